@@ -0,0 +1,70 @@
+package com.devonfw.qmaid.benchmark;
+
+import com.devonfw.qmaid.util.CsvParser;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing the CSV file of MTA. The file has 50 rows per dependency
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvParserBenchmark {
+
+    @Param({"20", "200", "2000"})
+    int dependencies;
+
+    private File workingDirectory;
+    private File csvTemplateLocation;
+    private File resultFolderLocation;
+
+    @Setup(Level.Trial)
+    public void generateCsv() throws IOException {
+
+        workingDirectory = Files.createTempDirectory("qmaid-csv-benchmark").toFile();
+        csvTemplateLocation = new File(workingDirectory, "template");
+        resultFolderLocation = new File(workingDirectory, "result");
+        new SyntheticData(dependencies).writeMtaCsv(csvTemplateLocation);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyCsv() throws IOException {
+
+        //The CSV parser cleans the result folder after parsing
+        FileUtils.copyDirectory(csvTemplateLocation, resultFolderLocation);
+    }
+
+    @Benchmark
+    public void parseCSV(Blackhole blackhole) {
+
+        CsvParser.parseCSV(resultFolderLocation, blackhole::consume);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteCsv() {
+
+        FileUtils.deleteQuietly(workingDirectory);
+    }
+}
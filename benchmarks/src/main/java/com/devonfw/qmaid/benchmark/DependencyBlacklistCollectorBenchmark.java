@@ -0,0 +1,52 @@
+package com.devonfw.qmaid.benchmark;
+
+import com.devonfw.qmaid.collector.DependencyBlacklistCollector;
+import com.devonfw.qmaid.model.MtaIssue;
+import com.devonfw.qmaid.model.ProjectDependency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures assigning the MTA issues to the project dependencies by their artifacts, packages and classes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DependencyBlacklistCollectorBenchmark {
+
+    @Param({"20", "200", "2000"})
+    int dependencies;
+
+    private List<MtaIssue> mtaIssues;
+    private List<ProjectDependency> projectDependencies;
+
+    @Setup(Level.Trial)
+    public void generateIssuesAndDependencies() {
+
+        SyntheticData syntheticData = new SyntheticData(dependencies);
+        mtaIssues = syntheticData.mtaIssues();
+        projectDependencies = syntheticData.projectDependencies();
+    }
+
+    @Benchmark
+    public List<ProjectDependency> generateDependencyBlacklist() {
+
+        return new DependencyBlacklistCollector(mtaIssues, projectDependencies).getDependencyBlacklist();
+    }
+}
@@ -0,0 +1,72 @@
+package com.devonfw.qmaid.benchmark;
+
+import com.devonfw.qmaid.collector.MtaIssuesCollector;
+import com.devonfw.qmaid.model.MtaIssue;
+import com.devonfw.qmaid.model.MtaRecord;
+import com.devonfw.qmaid.util.MtaRuleIndex;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures aggregating the MTA records to issues and resolving their artifacts with the MTA rule index
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MtaIssuesCollectorBenchmark {
+
+    @Param({"20", "200", "2000"})
+    int dependencies;
+
+    private File workingDirectory;
+    private List<MtaRecord> mtaRecords;
+    private MtaRuleIndex mtaRuleIndex;
+
+    @Setup(Level.Trial)
+    public void generateRecordsAndRules() throws IOException {
+
+        SyntheticData syntheticData = new SyntheticData(dependencies);
+        mtaRecords = syntheticData.mtaRecords();
+
+        workingDirectory = Files.createTempDirectory("qmaid-rules-benchmark").toFile();
+        File ruleLocation = new File(workingDirectory, "rules");
+        syntheticData.writeMtaRules(ruleLocation);
+        mtaRuleIndex = MtaRuleIndex.load(List.of(ruleLocation), new File(workingDirectory, "mta-rule-index.csv"));
+    }
+
+    @Benchmark
+    public List<MtaIssue> collectMtaIssues() {
+
+        MtaIssuesCollector mtaIssuesCollector = new MtaIssuesCollector();
+        mtaRecords.forEach(mtaIssuesCollector::addMtaRecord);
+        mtaIssuesCollector.resolveMavenIdentifiersFromMtaRules(mtaRuleIndex);
+        return mtaIssuesCollector.getMtaIssuesList();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteRules() {
+
+        FileUtils.deleteQuietly(workingDirectory);
+    }
+}
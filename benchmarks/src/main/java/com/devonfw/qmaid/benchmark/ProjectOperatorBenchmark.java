@@ -0,0 +1,83 @@
+package com.devonfw.qmaid.benchmark;
+
+import com.devonfw.qmaid.model.ProjectDependency;
+import com.devonfw.qmaid.operator.DependencyTreeOperator;
+import com.devonfw.qmaid.operator.ProjectOperator;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the occurrence measurement of the blacklisted dependencies in a source tree with one Java file per dependency
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProjectOperatorBenchmark {
+
+    @Param({"20", "200", "2000"})
+    int dependencies;
+
+    private SyntheticData syntheticData;
+    private File workingDirectory;
+    private File sourceLocation;
+    private ProjectOperator projectOperator;
+    private DependencyTreeOperator dependencyTreeOperator;
+    private List<ProjectDependency> dependencyBlacklist;
+
+    @Setup(Level.Trial)
+    public void generateProject() throws IOException {
+
+        syntheticData = new SyntheticData(dependencies);
+        workingDirectory = Files.createTempDirectory("qmaid-project-benchmark").toFile();
+        File projectLocation = new File(workingDirectory, "project");
+        File mavenRepoLocation = new File(workingDirectory, "repository");
+        sourceLocation = syntheticData.writeProject(projectLocation);
+        Files.createDirectories(mavenRepoLocation.toPath());
+
+        projectOperator = new ProjectOperator(projectLocation, mavenRepoLocation, sourceLocation);
+        //The project has no dependencies, so the blacklisted dependencies are not enhanced with transitive dependencies
+        dependencyTreeOperator = new DependencyTreeOperator(new File(projectLocation, "pom.xml"), mavenRepoLocation,
+                projectOperator.getApplicationStartupLibrariesOfProject());
+    }
+
+    @Setup(Level.Invocation)
+    public void generateDependencyBlacklist() {
+
+        //The occurrence measurement adds the found occurrences to the dependencies
+        dependencyBlacklist = syntheticData.projectDependencies();
+    }
+
+    @Benchmark
+    public List<ProjectDependency> occurrenceMeasurement() {
+
+        projectOperator.occurrenceMeasurement(sourceLocation, dependencyBlacklist, dependencyTreeOperator, null);
+        return dependencyBlacklist;
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteProject() {
+
+        FileUtils.deleteQuietly(workingDirectory);
+    }
+}
@@ -0,0 +1,82 @@
+package com.devonfw.qmaid.benchmark;
+
+import com.devonfw.qmaid.model.MtaIssue;
+import com.devonfw.qmaid.model.ProjectDependency;
+import com.devonfw.qmaid.model.ReflectionUsageInDependencies;
+import com.devonfw.qmaid.util.ReportGenerator;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.aether.graph.DependencyNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating the report, which is dominated by printing the dependency tree with the reflection usage of the dependencies
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReportGeneratorBenchmark {
+
+    @Param({"20", "200", "2000"})
+    int dependencies;
+
+    private File workingDirectory;
+    private File projectPomLocation;
+    private File resultFolderLocation;
+    private List<ProjectDependency> dependencyBlacklist;
+    private List<MtaIssue> mtaIssues;
+    private List<DependencyNode> dependencyTreeRootNodes;
+    private List<ReflectionUsageInDependencies> reflectionUsageInDependencies;
+
+    @Setup(Level.Trial)
+    public void generateDependencyTree() throws IOException {
+
+        SyntheticData syntheticData = new SyntheticData(dependencies);
+        workingDirectory = Files.createTempDirectory("qmaid-report-benchmark").toFile();
+        File projectLocation = new File(workingDirectory, "project");
+        syntheticData.writeProject(projectLocation);
+        projectPomLocation = new File(projectLocation, "pom.xml");
+        resultFolderLocation = new File(workingDirectory, "result");
+        Files.createDirectories(resultFolderLocation.toPath());
+
+        dependencyBlacklist = syntheticData.projectDependencies();
+        mtaIssues = syntheticData.mtaIssues();
+        dependencyTreeRootNodes = syntheticData.dependencyTree();
+        reflectionUsageInDependencies = syntheticData.reflectionUsageInDependencies();
+    }
+
+    @Benchmark
+    public File generateReport() {
+
+        new ReportGenerator(dependencyBlacklist, dependencies, mtaIssues, Collections.emptyList(), reflectionUsageInDependencies,
+                dependencyTreeRootNodes, Collections.emptyList(), Collections.emptyList(), projectPomLocation, resultFolderLocation, false);
+        return resultFolderLocation;
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteReport() {
+
+        FileUtils.deleteQuietly(workingDirectory);
+    }
+}
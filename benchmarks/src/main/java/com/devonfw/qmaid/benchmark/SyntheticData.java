@@ -0,0 +1,261 @@
+package com.devonfw.qmaid.benchmark;
+
+import com.devonfw.qmaid.model.MtaIssue;
+import com.devonfw.qmaid.model.MtaRecord;
+import com.devonfw.qmaid.model.ProjectDependency;
+import com.devonfw.qmaid.model.ReflectionUsageInDependencies;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic analysis data of a project with the given number of dependencies. The data is derived from a fixed seed, so every
+ * benchmark run works on the same data. The sizes scale from a small microservice (20 dependencies) to a monolith (2,000 dependencies)
+ */
+public class SyntheticData {
+
+    private static final long SEED = 42;
+
+    private static final int PACKAGES_PER_DEPENDENCY = 10;
+    private static final int CLASSES_PER_PACKAGE = 20;
+    private static final int CSV_ROWS_PER_DEPENDENCY = 50;
+    private static final int IMPORTS_PER_SOURCE_FILE = 15;
+    private static final String[] CATEGORIES = {"mandatory", "optional", "reflection", "configuration", "potential"};
+
+    private final int dependencies;
+
+    /**
+     * @param dependencies Number of dependencies of the synthetic project
+     */
+    public SyntheticData(int dependencies) {
+
+        this.dependencies = dependencies;
+    }
+
+    public static String groupId(int dependency) {
+        return "org.example.group" + (dependency % 50);
+    }
+
+    public static String artifactId(int dependency) {
+        return "artifact-" + dependency;
+    }
+
+    public static String jarFile(int dependency) {
+        return artifactId(dependency) + "-1.0.jar";
+    }
+
+    public static String packageName(int dependency, int packageNumber) {
+        return groupId(dependency) + ".a" + dependency + ".p" + packageNumber;
+    }
+
+    public static String className(int dependency, int packageNumber, int classNumber) {
+        return packageName(dependency, packageNumber) + ".Class" + classNumber;
+    }
+
+    public static String ruleId(int dependency) {
+        return "synthetic-rule-" + dependency;
+    }
+
+    /**
+     * This method writes an AllIssues.csv file like MTA does for a project with all dependencies
+     *
+     * @param resultFolderLocation Directory of the CSV file
+     * @throws IOException If the file could not be written
+     */
+    public void writeMtaCsv(File resultFolderLocation) throws IOException {
+
+        Random random = new Random(SEED);
+        Files.createDirectories(resultFolderLocation.toPath());
+        try (Writer writer = Files.newBufferedWriter(new File(resultFolderLocation, "AllIssues.csv").toPath())) {
+            writer.write("Rule Id,Issue Category,Title,Description,Links,Application,File Name,File Path,Line,Story points,Jar\n");
+            for (int dependency = 0; dependency < dependencies; dependency++) {
+                for (int row = 0; row < CSV_ROWS_PER_DEPENDENCY; row++) {
+                    String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+                    String className = className(dependency, random.nextInt(PACKAGES_PER_DEPENDENCY), random.nextInt(CLASSES_PER_PACKAGE));
+                    writer.write(ruleId(dependency) + "," + category + ",Title of " + ruleId(dependency) + ",Description,Link,Application," +
+                            className + ",/project/src/main/java/" + className.replace('.', '/') + ".java," + row + ",1," + jarFile(dependency) + "\n");
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Records like the CSV parser creates them from the CSV file of {@link #writeMtaCsv(File)}
+     */
+    public List<MtaRecord> mtaRecords() {
+
+        Random random = new Random(SEED);
+        List<MtaRecord> mtaRecords = new ArrayList<>();
+        for (int dependency = 0; dependency < dependencies; dependency++) {
+            for (int row = 0; row < CSV_ROWS_PER_DEPENDENCY; row++) {
+                String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+                String className = className(dependency, random.nextInt(PACKAGES_PER_DEPENDENCY), random.nextInt(CLASSES_PER_PACKAGE));
+                mtaRecords.add(new MtaRecord(ruleId(dependency), category, "Title of " + ruleId(dependency), className,
+                        "/project/src/main/java/" + className.replace('.', '/') + ".java", jarFile(dependency)));
+            }
+        }
+        return mtaRecords;
+    }
+
+    /**
+     * This method writes one MTA rule file per group of dependencies. Every dependency has a rule with its artifact and a javaclass reference
+     *
+     * @param ruleLocation Directory of the rules
+     * @throws IOException If the files could not be written
+     */
+    public void writeMtaRules(File ruleLocation) throws IOException {
+
+        for (int group = 0; group < Math.min(50, dependencies); group++) {
+            File directory = new File(ruleLocation, "group" + group);
+            Files.createDirectories(directory.toPath());
+            try (Writer writer = Files.newBufferedWriter(new File(directory, "group" + group + ".windup.xml").toPath())) {
+                writer.write("<?xml version=\"1.0\"?>\n<ruleset id=\"group" + group + "\" xmlns=\"http://windup.jboss.org/schema/jboss-ruleset\">\n<rules>\n");
+                for (int dependency = group; dependency < dependencies; dependency += 50) {
+                    writer.write("<rule id=\"" + ruleId(dependency) + "\">\n<when>\n<or>\n" +
+                            "<dependency groupId=\"" + groupId(dependency) + "\" artifactId=\"" + artifactId(dependency) + "\"/>\n" +
+                            "<javaclass references=\"" + packageName(dependency, 0) + "\"><location>IMPORT</location></javaclass>\n" +
+                            "</or>\n</when>\n<perform><hint title=\"Title\" effort=\"1\" category-id=\"mandatory\"><message>Message</message></hint></perform>\n</rule>\n");
+                }
+                writer.write("</rules>\n</ruleset>\n");
+            }
+        }
+    }
+
+    /**
+     * @return One MTA issue per dependency which references its artifact and its first package
+     */
+    public List<MtaIssue> mtaIssues() {
+
+        List<MtaIssue> mtaIssues = new ArrayList<>();
+        for (int dependency = 0; dependency < dependencies; dependency++) {
+            MtaIssue mtaIssue = new MtaIssue(ruleId(dependency), "Title of " + ruleId(dependency));
+            mtaIssue.addMavenIdentifier(new MtaIssue.MavenIdentifier(groupId(dependency), artifactId(dependency)));
+            mtaIssue.getPackages().add(packageName(dependency, 0));
+            mtaIssues.add(mtaIssue);
+        }
+        return mtaIssues;
+    }
+
+    /**
+     * @return Dependencies with their packages and classes like the jar files of the dependencies contain them. The packages and classes of the
+     * transitive dependencies are already added
+     */
+    public List<ProjectDependency> projectDependencies() {
+
+        List<ProjectDependency> projectDependencies = new ArrayList<>();
+        for (int dependency = 0; dependency < dependencies; dependency++) {
+            List<String> packages = new ArrayList<>();
+            List<String> classes = new ArrayList<>();
+            for (int packageNumber = 0; packageNumber < PACKAGES_PER_DEPENDENCY; packageNumber++) {
+                packages.add(packageName(dependency, packageNumber));
+                for (int classNumber = 0; classNumber < CLASSES_PER_PACKAGE; classNumber++) {
+                    classes.add(className(dependency, packageNumber, classNumber));
+                }
+            }
+            ProjectDependency projectDependency = new ProjectDependency(groupId(dependency), artifactId(dependency), "1.0", packages, classes);
+            projectDependency.setAllPossiblePackagesIncludingDependencies(packages);
+            projectDependency.setAllPossibleClassesIncludingDependencies(classes);
+            projectDependencies.add(projectDependency);
+        }
+        return projectDependencies;
+    }
+
+    /**
+     * This method writes a source tree with one Java file per dependency. Each file imports classes and packages of random dependencies
+     *
+     * @param sourceLocation Root directory of the sources
+     * @throws IOException If the files could not be written
+     */
+    public void writeSourceTree(File sourceLocation) throws IOException {
+
+        Random random = new Random(SEED);
+        for (int file = 0; file < dependencies; file++) {
+            File directory = new File(sourceLocation, "com/example/module" + (file % 20) + "/layer" + (file % 3));
+            Files.createDirectories(directory.toPath());
+            StringBuilder source = new StringBuilder("package com.example.module" + (file % 20) + ".layer" + (file % 3) + ";\n\n");
+            for (int importNumber = 0; importNumber < IMPORTS_PER_SOURCE_FILE; importNumber++) {
+                int dependency = random.nextInt(dependencies);
+                int packageNumber = random.nextInt(PACKAGES_PER_DEPENDENCY);
+                if (importNumber % 5 == 4) {
+                    source.append("import ").append(packageName(dependency, packageNumber)).append(".*;\n");
+                } else {
+                    source.append("import ").append(className(dependency, packageNumber, random.nextInt(CLASSES_PER_PACKAGE))).append(";\n");
+                }
+            }
+            source.append("import java.util.List;\n\n/**\n * Synthetic class\n */\npublic class Class").append(file).append(" {\n\n")
+                    .append("    private List<String> values;\n\n    public List<String> getValues() {\n        return values;\n    }\n}\n");
+            Files.writeString(new File(directory, "Class" + file + ".java").toPath(), source);
+        }
+    }
+
+    /**
+     * This method writes a Maven project without dependencies. Its sources are the source tree of {@link #writeSourceTree(File)}
+     *
+     * @param projectLocation Root directory of the project
+     * @return Root directory of the sources
+     * @throws IOException If the files could not be written
+     */
+    public File writeProject(File projectLocation) throws IOException {
+
+        Files.createDirectories(projectLocation.toPath());
+        Files.writeString(new File(projectLocation, "pom.xml").toPath(), "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" +
+                "    <modelVersion>4.0.0</modelVersion>\n" +
+                "    <groupId>com.example</groupId>\n" +
+                "    <artifactId>synthetic-project</artifactId>\n" +
+                "    <version>1.0</version>\n" +
+                "    <properties>\n" +
+                "        <java.version>11</java.version>\n" +
+                "    </properties>\n" +
+                "</project>\n");
+        File sourceLocation = new File(projectLocation, "src" + File.separator + "main" + File.separator + "java");
+        writeSourceTree(sourceLocation);
+        return sourceLocation;
+    }
+
+    /**
+     * @return Root nodes of a dependency tree. Every tenth dependency is a direct dependency, the others are attached to a random earlier
+     * dependency
+     */
+    public List<DependencyNode> dependencyTree() {
+
+        Random random = new Random(SEED);
+        List<DependencyNode> rootNodes = new ArrayList<>();
+        List<DependencyNode> nodes = new ArrayList<>();
+        for (int dependency = 0; dependency < dependencies; dependency++) {
+            DefaultArtifact artifact = new DefaultArtifact(groupId(dependency), artifactId(dependency), "jar", "1.0");
+            DefaultDependencyNode node = new DefaultDependencyNode(new Dependency(artifact, "compile"));
+            if (dependency % 10 == 0) {
+                rootNodes.add(node);
+            } else {
+                nodes.get(random.nextInt(nodes.size())).getChildren().add(node);
+            }
+            nodes.add(node);
+        }
+        return rootNodes;
+    }
+
+    /**
+     * @return Reflection usage of every fifth dependency, identified by the full artifact name like after the mapping of the jar files
+     */
+    public List<ReflectionUsageInDependencies> reflectionUsageInDependencies() {
+
+        List<ReflectionUsageInDependencies> reflectionUsageInDependencies = new ArrayList<>();
+        for (int dependency = 0; dependency < dependencies; dependency += 5) {
+            List<String> classes = new ArrayList<>();
+            for (int classNumber = 0; classNumber < 10; classNumber++) {
+                classes.add(className(dependency, 0, classNumber));
+            }
+            reflectionUsageInDependencies.add(new ReflectionUsageInDependencies(groupId(dependency) + ":" + artifactId(dependency) + ":1.0", classes));
+        }
+        return reflectionUsageInDependencies;
+    }
+}
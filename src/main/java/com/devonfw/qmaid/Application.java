@@ -1,25 +1,38 @@
 package com.devonfw.qmaid;
 
+import com.devonfw.qmaid.collector.AnalysisFailureCollector;
 import com.devonfw.qmaid.collector.ConfigurationUsageCollector;
 import com.devonfw.qmaid.collector.DependencyBlacklistCollector;
 import com.devonfw.qmaid.collector.MtaIssuesCollector;
 import com.devonfw.qmaid.collector.ReflectionUsageCollector;
+import com.devonfw.qmaid.model.AnalysisFailureEntry;
+import com.devonfw.qmaid.model.MtaRecord;
 import com.devonfw.qmaid.operator.DependencyTreeOperator;
 import com.devonfw.qmaid.operator.ProjectOperator;
+import com.devonfw.qmaid.util.BytecodeReflectionScanner;
 import com.devonfw.qmaid.util.CsvParser;
 import com.devonfw.qmaid.util.DependencyUtilities;
+import com.devonfw.qmaid.util.ImportManifest;
+import com.devonfw.qmaid.util.JarClassIndex;
+import com.devonfw.qmaid.util.MtaDependencyScanner;
 import com.devonfw.qmaid.util.MtaExecutor;
+import com.devonfw.qmaid.util.MtaProcessSupervisor;
+import com.devonfw.qmaid.util.MtaResultCache;
 import com.devonfw.qmaid.util.ReportGenerator;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.config.Configurator;
+import org.eclipse.aether.artifact.Artifact;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import picocli.CommandLine;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Manages CLI and initiates the analysis steps
@@ -48,6 +61,52 @@ public class Application implements Runnable {
             description = "With analysis of the reflection usage of the dependencies")
     private Boolean withoutDependencyAnalysis;
 
+    @CommandLine.Option(names = {"-t", "--threads"}, defaultValue = "1", description = "Number of parallel MTA scans of the dependencies")
+    private Integer threads;
+
+    @CommandLine.Option(names = {"-b", "--batchSize"}, defaultValue = "1", description = "Number of dependencies analyzed by one MTA execution")
+    private Integer batchSize;
+
+    @CommandLine.Option(names = {"-nc", "--noCache"}, defaultValue = "false", description = "Without the caches for MTA results, jar contents of dependencies and imports of source files")
+    private Boolean withoutCache;
+
+    @CommandLine.Option(names = {"-br", "--bytecodeReflection"}, defaultValue = "false",
+            description = "Detect reflection usage of the dependencies by reading the class files instead of using MTA")
+    private Boolean bytecodeReflectionAnalysis;
+
+    @CommandLine.Option(names = {"-bo", "--bytecodeOccurrence"}, defaultValue = "false",
+            description = "Measure the usage of the dependencies in the compiled classes of the project instead of the import statements")
+    private Boolean bytecodeOccurrenceMeasurement;
+
+    @CommandLine.Option(names = {"-ww", "--warmWorker"}, defaultValue = "false",
+            description = "Keep one MTA process per worker running for all dependencies instead of starting MTA for every dependency")
+    private Boolean warmWorker;
+
+    @CommandLine.Option(names = {"-to", "--timeout"}, defaultValue = "600",
+            description = "Timeout in seconds of the MTA analysis per dependency. 0 disables the timeout")
+    private Integer timeoutPerDependency;
+
+    @CommandLine.Option(names = {"-rt", "--retries"}, defaultValue = "1", description = "Number of retries of MTA analyses which timed out")
+    private Integer retries;
+
+    @CommandLine.Option(names = {"-mm", "--mtaMemory"}, defaultValue = "", description = "Maximum heap of the MTA processes, e.g. 2048m")
+    private String mtaMemory;
+
+    @CommandLine.Option(names = {"-sg", "--singleGraph"}, defaultValue = "false",
+            description = "Collect the dependency tree of all direct dependencies with one request")
+    private Boolean singleGraph;
+
+    @CommandLine.Option(names = {"-rth", "--resolverThreads"}, defaultValue = "4",
+            description = "Number of threads which read the dependency descriptors in parallel with --singleGraph")
+    private Integer resolverThreads;
+
+    @CommandLine.Option(names = {"-o", "--offline"}, defaultValue = "false",
+            description = "Never access the network. Only the local Maven repository and file mirrors are used")
+    private Boolean offline;
+
+    @CommandLine.Option(names = {"-mr", "--mirror"}, split = ",", description = "Repository used instead of Maven Central, e.g. file:///opt/maven-mirror")
+    private List<String> mirrors = new ArrayList<>();
+
     @CommandLine.Option(names = {"-v", "--verbose"}, defaultValue = "false", description = "Enable debug logging")
     private Boolean debugLoggingEnabled;
 
@@ -104,37 +163,63 @@ public class Application implements Runnable {
     private void executeAnalysis(File inputProjectLocation, File mavenRepoLocation, File applicationEntryPointLocation, File projectPomLocation,
                                  File resultFolderLocation) {
 
+        MtaProcessSupervisor.configure(timeoutPerDependency, mtaMemory, retries);
+
         ProjectOperator projectOperator = new ProjectOperator(inputProjectLocation, mavenRepoLocation, applicationEntryPointLocation);
         DependencyTreeOperator dependencyTreeOperator = new DependencyTreeOperator(projectPomLocation, mavenRepoLocation,
-                projectOperator.getApplicationStartupLibrariesOfProject());
-
-        MtaExecutor.executeMtaForProject(inputProjectLocation, resultFolderLocation);
-        List<List<String>> mtaOutput = CsvParser.parseCSV(resultFolderLocation);
+                projectOperator.getApplicationStartupLibrariesOfProject(), singleGraph, resolverThreads, offline, mirrors,
+                withoutCache ? null : JarClassIndex.load(JarClassIndex.getDefaultIndexLocation()));
 
         MtaIssuesCollector mtaIssuesCollector = new MtaIssuesCollector();
-        mtaIssuesCollector.generateMtaIssuesList(mtaOutput);
+        ReflectionUsageCollector reflectionUsageCollector = new ReflectionUsageCollector(inputProjectLocation);
+        ConfigurationUsageCollector configurationUsageCollector = new ConfigurationUsageCollector(inputProjectLocation);
 
-        ReflectionUsageCollector reflectionUsageCollector = new ReflectionUsageCollector(inputProjectLocation, mtaOutput);
-        ConfigurationUsageCollector configurationUsageCollector = new ConfigurationUsageCollector(inputProjectLocation, mtaOutput);
+        MtaExecutor.executeMtaForProject(inputProjectLocation, resultFolderLocation);
+        CsvParser.parseCSV(resultFolderLocation, mtaIssuesCollector::addMtaRecord, reflectionUsageCollector::addReflectionUsageInProject,
+                configurationUsageCollector::addConfigurationUsageInProject);
 
         if (!withoutDependencyAnalysis) {
             LOG.info("Start scanning dependencies. " + dependencyTreeOperator.getAllArtifactsOfProject().size() + " dependencies found");
-            dependencyTreeOperator.getAllArtifactsOfProject().forEach(dependency -> {
-                MtaExecutor.executeMtaForLibrary(dependency.getFile(), resultFolderLocation);
-                List<List<String>> mtaOutputDependency = CsvParser.parseCSV(resultFolderLocation);
-                mtaIssuesCollector.generateMtaIssuesList(mtaOutputDependency);
-                reflectionUsageCollector.generateReflectionUsageInDependenciesList(mtaOutputDependency);
+            //The bytecode reflection scanner replaces the reflection target of MTA
+            List<String> targets = bytecodeReflectionAnalysis ? List.of("quarkus") : List.of("quarkus", "reflection");
+            MtaResultCache mtaResultCache = withoutCache ? null : new MtaResultCache(MtaResultCache.getDefaultCacheLocation(), targets);
+            MtaDependencyScanner mtaDependencyScanner = new MtaDependencyScanner(resultFolderLocation, threads, batchSize, targets, mtaResultCache,
+                    warmWorker);
+            mtaDependencyScanner.scanDependencies(dependencyTreeOperator.getAllArtifactsOfProject(), mtaOutputDependency -> {
+                for (MtaRecord mtaRecord : mtaOutputDependency) {
+                    mtaIssuesCollector.addMtaRecord(mtaRecord);
+                    reflectionUsageCollector.addReflectionUsageInDependencies(mtaRecord);
+                }
             });
+            if (bytecodeReflectionAnalysis) {
+                reflectionUsageCollector.addReflectionUsageInDependencies(BytecodeReflectionScanner.scanLibraries(
+                        dependencyTreeOperator.getAllArtifactsOfProject().stream().map(Artifact::getFile).collect(Collectors.toList())));
+            }
             reflectionUsageCollector.setReflectionUsageInDependencies(
                     DependencyUtilities.mapJarFilesToFullArtifactNames(reflectionUsageCollector.getReflectionUsageInDependencies(),
                             dependencyTreeOperator.getAllArtifactsOfProject()));
         }
 
+        mtaIssuesCollector.resolveMavenIdentifiersFromMtaRules();
+
         DependencyBlacklistCollector dependencyBlacklistCollector = new DependencyBlacklistCollector(mtaIssuesCollector.getMtaIssuesList(),
                 dependencyTreeOperator.getProjectDependencies());
 
-        projectOperator.occurrenceMeasurement(new File(applicationEntryPointLocation.getParent()),
-                dependencyBlacklistCollector.getDependencyBlacklist(), dependencyTreeOperator);
+        File sourceRoot = new File(applicationEntryPointLocation.getParent());
+        File classesLocation = findClassesLocation(inputProjectLocation, sourceRoot);
+        if (bytecodeOccurrenceMeasurement && classesLocation.isDirectory()) {
+            projectOperator.occurrenceMeasurementInClasses(classesLocation, dependencyBlacklistCollector.getDependencyBlacklist(),
+                    dependencyTreeOperator);
+        } else {
+            if (bytecodeOccurrenceMeasurement) {
+                AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(classesLocation.toString(),
+                        "Compiled classes not found. The usage of the dependencies was measured with the import statements"));
+                LOG.warn("Compiled classes not found in " + classesLocation + ". Please build the project. The usage of the dependencies is " +
+                        "measured with the import statements");
+            }
+            projectOperator.occurrenceMeasurement(sourceRoot, dependencyBlacklistCollector.getDependencyBlacklist(), dependencyTreeOperator,
+                    withoutCache ? null : ImportManifest.load(ImportManifest.getDefaultManifestLocation(sourceRoot), sourceRoot));
+        }
 
         ReportGenerator reportGenerator = new ReportGenerator(dependencyBlacklistCollector.getDependencyBlacklist(),
                 projectOperator.getTotalJavaClassesScanned(), mtaIssuesCollector.getMtaIssuesList(),
@@ -144,6 +229,23 @@ public class Application implements Runnable {
                 projectPomLocation, resultFolderLocation, withoutDependencyAnalysis);
     }
 
+    /**
+     * This method finds the compiled classes of the source folder in target/classes of the project
+     *
+     * @return The folder with the compiled classes of the package of the source folder, the whole target/classes if the source folder is not
+     * in src/main/java
+     */
+    private File findClassesLocation(File inputProjectLocation, File sourceRoot) {
+
+        Path classesLocation = inputProjectLocation.toPath().resolve("target").resolve("classes");
+        Path javaSourceLocation = inputProjectLocation.toPath().resolve("src").resolve("main").resolve("java").toAbsolutePath().normalize();
+        Path sourceRootLocation = sourceRoot.toPath().toAbsolutePath().normalize();
+        if (sourceRootLocation.startsWith(javaSourceLocation)) {
+            return classesLocation.resolve(javaSourceLocation.relativize(sourceRootLocation)).toFile();
+        }
+        return classesLocation.toFile();
+    }
+
     /**
      * This method checks if all given locations exist
      */
@@ -196,6 +298,19 @@ public class Application implements Runnable {
                 "-a  --app                    Application entry point location (@SpringBootApplication) (mandatory)\n" +
                 "-m  --mavenRepo              Local Maven repository location (mandatory)\n" +
                 "-wd --withoutDependencies    Without analysis of the reflection usage of the dependencies. This analysis can take a very long time\n" +
+                "-t  --threads                Number of parallel MTA scans of the dependencies. Default: 1\n" +
+                "-b  --batchSize              Number of dependencies analyzed by one MTA execution. Larger batches save startup time but need more memory. Default: 1\n" +
+                "-nc --noCache                Without the caches for MTA results, jar contents of dependencies and imports of source files. The caches are stored in ~/.qmaid\n" +
+                "-br --bytecodeReflection     Detect reflection usage of the dependencies by reading the class files instead of using MTA. Faster, MTA is still used for the Quarkus rules\n" +
+                "-bo --bytecodeOccurrence     Measure the usage of the dependencies in the compiled classes of the project (target/classes) instead of the import statements. Also finds fully qualified usages. The project must be built\n" +
+                "-ww --warmWorker             Keep one MTA process per worker running for all dependencies instead of starting MTA for every dependency\n" +
+                "-to --timeout                Timeout in seconds of the MTA analysis per dependency. Stuck MTA processes are killed. 0 disables the timeout. Default: 600\n" +
+                "-rt --retries                Number of retries of MTA analyses which timed out. Default: 1\n" +
+                "-mm --mtaMemory              Maximum heap of the MTA processes, e.g. 2048m. Default: heap limit of MTA\n" +
+                "-sg --singleGraph            Collect the dependency tree of all direct dependencies with one request. Shared dependencies are collected only once and version conflicts are resolved like Maven does\n" +
+                "-rth --resolverThreads       Number of threads which read the dependency descriptors in parallel with --singleGraph. Default: 4\n" +
+                "-o  --offline                Never access the network. Artifacts missing in the local Maven repository and the file mirrors are reported as analysis failures\n" +
+                "-mr --mirror                 Repositories used instead of Maven Central, e.g. file:///opt/maven-mirror. Several mirrors are separated by commas\n" +
                 "-v  --verbose                Enable debug logging\n" +
                 "-h  --help                   Display help";
     }
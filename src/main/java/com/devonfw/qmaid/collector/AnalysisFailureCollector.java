@@ -3,6 +3,7 @@ package com.devonfw.qmaid.collector;
 import com.devonfw.qmaid.model.AnalysisFailureEntry;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -10,7 +11,8 @@ import java.util.List;
  */
 public class AnalysisFailureCollector {
 
-    private static List<AnalysisFailureEntry> analysisFailures = new ArrayList<>();
+    //Synchronized because failures can be reported by parallel workers
+    private static List<AnalysisFailureEntry> analysisFailures = Collections.synchronizedList(new ArrayList<>());
 
     public static void addAnalysisFailure(AnalysisFailureEntry analysisFailure) {
 
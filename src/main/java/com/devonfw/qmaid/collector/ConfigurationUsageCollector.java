@@ -1,6 +1,7 @@
 package com.devonfw.qmaid.collector;
 
 import com.devonfw.qmaid.model.ConfigurationUsageInProject;
+import com.devonfw.qmaid.model.MtaRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,36 +19,38 @@ public class ConfigurationUsageCollector {
     List<ConfigurationUsageInProject> configurationInjectionUsageInProject;
     List<ConfigurationUsageInProject> configurationPropertyUsageInProject;
 
-    public ConfigurationUsageCollector(File inputProjectLocation, List<List<String>> csvOutput) {
+    private final File inputProjectLocation;
 
-        collectConfigurationUsageInProject(csvOutput, inputProjectLocation);
+    public ConfigurationUsageCollector(File inputProjectLocation) {
+
+        this.inputProjectLocation = inputProjectLocation;
+        configurationInjectionUsageInProject = new ArrayList<>();
+        configurationPropertyUsageInProject = new ArrayList<>();
     }
 
     /**
-     * This method converts the output from the CSV parser to a list of ConfigurationUsageInProject objects
+     * This method adds a configuration entry from the CSV parser to the Spring configuration usage. Other entries are ignored
      *
-     * @param csvOutput Output from CSV parser
-     * @return Spring configuration usage list
+     * @param mtaRecord Entry from CSV parser
      */
-    private void collectConfigurationUsageInProject(List<List<String>> csvOutput, File inputProjectLocation) {
+    public void addConfigurationUsageInProject(MtaRecord mtaRecord) {
 
-        configurationInjectionUsageInProject = new ArrayList<>();
-        configurationPropertyUsageInProject = new ArrayList<>();
+        if (!mtaRecord.getCategory().equals(MtaRecord.CATEGORY_CONFIGURATION)) {
+            return;
+        }
+        if (mtaRecord.getRuleId().equals("configuration-annotations-0000")) {
+            addConfigurationUsage(mtaRecord, configurationInjectionUsageInProject);
+        } else if (mtaRecord.getRuleId().equals("configuration-annotations-0001")) {
+            addConfigurationUsage(mtaRecord, configurationPropertyUsageInProject);
+        }
+    }
+
+    private void addConfigurationUsage(MtaRecord mtaRecord, List<ConfigurationUsageInProject> configurationUsageInProject) {
 
-        for (List<String> csvEntry : csvOutput) {
-            if (csvEntry.get(1).equals("configuration") && csvEntry.get(0).equals("configuration-annotations-0000")) {
-                String className = csvEntry.get(6);
-                String path = csvEntry.get(7).substring(inputProjectLocation.toString().length() + 1);
-                if (configurationInjectionUsageInProject.stream().noneMatch(configurationUsage -> configurationUsage.getClassName().equals(className) && configurationUsage.getPath().equals(path))) {
-                    configurationInjectionUsageInProject.add(new ConfigurationUsageInProject(className, path));
-                }
-            } else if (csvEntry.get(1).equals("configuration") && csvEntry.get(0).equals("configuration-annotations-0001")) {
-                String className = csvEntry.get(6);
-                String path = csvEntry.get(7).substring(inputProjectLocation.toString().length() + 1);
-                if (configurationPropertyUsageInProject.stream().noneMatch(configurationUsage -> configurationUsage.getClassName().equals(className) && configurationUsage.getPath().equals(path))) {
-                    configurationPropertyUsageInProject.add(new ConfigurationUsageInProject(className, path));
-                }
-            }
+        String className = mtaRecord.getClassName();
+        String path = mtaRecord.getPath().substring(inputProjectLocation.toString().length() + 1);
+        if (configurationUsageInProject.stream().noneMatch(configurationUsage -> configurationUsage.getClassName().equals(className) && configurationUsage.getPath().equals(path))) {
+            configurationUsageInProject.add(new ConfigurationUsageInProject(className, path));
         }
     }
 
@@ -2,6 +2,7 @@ package com.devonfw.qmaid.collector;
 
 import com.devonfw.qmaid.model.MtaIssue;
 import com.devonfw.qmaid.model.ProjectDependency;
+import com.devonfw.qmaid.util.SymbolIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +33,7 @@ public class DependencyBlacklistCollector {
     private void generateDependencyBlacklistFromMtaIssuesList(List<MtaIssue> mtaIssuesList, List<ProjectDependency> projectDependencies) {
 
         dependencyBlacklist = new ArrayList<>();
+        SymbolIndex symbolIndex = SymbolIndex.ofPackagesAndClasses(projectDependencies);
 
         for (MtaIssue mtaIssue : mtaIssuesList) {
             boolean mtaIssueIsGeneralIssue = true;
@@ -43,9 +45,7 @@ public class DependencyBlacklistCollector {
                 mtaIssueIsGeneralIssue = enhanceBlacklistIfPossible(dependencyBlacklist, mtaIssue, mtaIssueIsGeneralIssue, optionalProjectDependency);
             }
             for (String javaPackage : mtaIssue.getPackages()) {
-                Optional<ProjectDependency> optionalProjectDependency = projectDependencies.stream()
-                        .filter(projectDependency -> projectDependency.getClasses().contains(javaPackage) ||
-                                projectDependency.getPackages().contains(javaPackage)).findFirst();
+                Optional<ProjectDependency> optionalProjectDependency = Optional.ofNullable(symbolIndex.getFirstOwnerOfClassOrPackage(javaPackage));
                 mtaIssueIsGeneralIssue = enhanceBlacklistIfPossible(dependencyBlacklist, mtaIssue, mtaIssueIsGeneralIssue, optionalProjectDependency);
             }
             if (mtaIssueIsGeneralIssue) {
@@ -1,5 +1,6 @@
 package com.devonfw.qmaid.collector;
 
+import com.devonfw.qmaid.model.MtaRecord;
 import com.devonfw.qmaid.model.ReflectionUsageInDependencies;
 import com.devonfw.qmaid.model.ReflectionUsageInProject;
 import org.slf4j.Logger;
@@ -20,58 +21,76 @@ public class ReflectionUsageCollector {
     List<ReflectionUsageInProject> reflectionUsageInProject;
     List<ReflectionUsageInDependencies> reflectionUsageInDependencies;
 
-    public ReflectionUsageCollector(File inputProjectLocation, List<List<String>> csvOutput) {
+    private final File inputProjectLocation;
 
+    public ReflectionUsageCollector(File inputProjectLocation) {
+
+        this.inputProjectLocation = inputProjectLocation;
+        reflectionUsageInProject = new ArrayList<>();
         reflectionUsageInDependencies = new ArrayList<>();
-        collectReflectionUsageInProject(csvOutput, inputProjectLocation);
     }
 
     /**
-     * This method converts the output from the CSV parser to a list of ReflectionUsageInProject objects
+     * This method adds a reflection entry from the CSV parser of the project analysis to the reflection usage in the project. Other entries
+     * are ignored
      *
-     * @param csvOutput Output from CSV parser
-     * @return reflection usage list
+     * @param mtaRecord Entry from CSV parser
      */
-    private void collectReflectionUsageInProject(List<List<String>> csvOutput, File inputProjectLocation) {
+    public void addReflectionUsageInProject(MtaRecord mtaRecord) {
 
-        reflectionUsageInProject = new ArrayList<>();
+        if (mtaRecord.getCategory().equals(MtaRecord.CATEGORY_REFLECTION)) {
+            String className = mtaRecord.getClassName();
+            String path = mtaRecord.getPath().substring(inputProjectLocation.toString().length() + 1);
+            if (reflectionUsageInProject.stream().noneMatch(reflectionUsage -> reflectionUsage.getClassName().equals(className) && reflectionUsage.getPath().equals(path))) {
+                reflectionUsageInProject.add(new ReflectionUsageInProject(className, path));
+            }
+        }
+    }
 
-        for (List<String> csvEntry : csvOutput) {
-            if (csvEntry.get(1).equals("reflection")) {
-                String className = csvEntry.get(6);
-                String path = csvEntry.get(7).substring(inputProjectLocation.toString().length() + 1);
-                if (reflectionUsageInProject.stream().noneMatch(reflectionUsage -> reflectionUsage.getClassName().equals(className) && reflectionUsage.getPath().equals(path))) {
-                    reflectionUsageInProject.add(new ReflectionUsageInProject(className, path));
+    /**
+     * This method adds a reflection entry from the CSV parser of the dependency analysis to the reflection usage in dependencies. Other entries
+     * are ignored
+     *
+     * @param mtaRecord Entry from CSV parser
+     */
+    public void addReflectionUsageInDependencies(MtaRecord mtaRecord) {
+
+        if (mtaRecord.getCategory().equals(MtaRecord.CATEGORY_REFLECTION)) {
+            String jarFile = mtaRecord.getJarFile();
+            String className = mtaRecord.getClassName();
+
+            Optional<ReflectionUsageInDependencies> optionalReflectionUsageInDependency = reflectionUsageInDependencies.stream()
+                    .filter(reflectionUsageInDependency -> reflectionUsageInDependency.getJarFile().equals(jarFile))
+                    .findAny();
+            if (optionalReflectionUsageInDependency.isPresent()) {
+                ReflectionUsageInDependencies reflectionUsage = optionalReflectionUsageInDependency.get();
+                if (!reflectionUsage.getClasses().contains(className)) {
+                    reflectionUsage.getClasses().add(className);
                 }
+            } else {
+                ArrayList<String> classes = new ArrayList<>();
+                classes.add(className);
+                reflectionUsageInDependencies.add(new ReflectionUsageInDependencies(jarFile, classes));
             }
         }
     }
 
     /**
-     * This method converts the output from the CSV parser to a list of ReflectionUsageInProject objects
+     * This method adds reflection usage in dependencies which was found without MTA, e.g. by the bytecode reflection scanner
      *
-     * @param csvOutput Output from CSV parser
+     * @param foundReflectionUsageInDependencies Reflection usage with the jar file names as identifiers
      */
-    public void generateReflectionUsageInDependenciesList(List<List<String>> csvOutput) {
-
-        for (List<String> csvEntry : csvOutput) {
-            if (csvEntry.get(1).equals("reflection")) {
-                String jarFile = csvEntry.get(10);
-                String className = csvEntry.get(6);
-
-                Optional<ReflectionUsageInDependencies> optionalReflectionUsageInDependency = reflectionUsageInDependencies.stream()
-                        .filter(reflectionUsageInDependency -> reflectionUsageInDependency.getJarFile().equals(jarFile))
-                        .findAny();
-                if (optionalReflectionUsageInDependency.isPresent()) {
-                    ReflectionUsageInDependencies reflectionUsage = reflectionUsageInDependencies.get(reflectionUsageInDependencies.indexOf(optionalReflectionUsageInDependency.get()));
-                    if (!reflectionUsage.getClasses().contains(className)) {
-                        reflectionUsage.getClasses().add(className);
-                    }
-                } else {
-                    ArrayList<String> classes = new ArrayList<>();
-                    classes.add(className);
-                    reflectionUsageInDependencies.add(new ReflectionUsageInDependencies(jarFile, classes));
-                }
+    public void addReflectionUsageInDependencies(List<ReflectionUsageInDependencies> foundReflectionUsageInDependencies) {
+
+        for (ReflectionUsageInDependencies foundReflectionUsage : foundReflectionUsageInDependencies) {
+            Optional<ReflectionUsageInDependencies> optionalReflectionUsageInDependency = reflectionUsageInDependencies.stream()
+                    .filter(reflectionUsageInDependency -> reflectionUsageInDependency.getJarFile().equals(foundReflectionUsage.getJarFile()))
+                    .findAny();
+            if (optionalReflectionUsageInDependency.isPresent()) {
+                List<String> classes = optionalReflectionUsageInDependency.get().getClasses();
+                foundReflectionUsage.getClasses().stream().filter(className -> !classes.contains(className)).forEach(classes::add);
+            } else {
+                reflectionUsageInDependencies.add(foundReflectionUsage);
             }
         }
     }
@@ -1,7 +1,10 @@
 package com.devonfw.qmaid.model;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Model for found MTA issues
@@ -13,12 +16,15 @@ public class MtaIssue {
     private List<String> packages;
     private String description;
     private Boolean generalIssue;
+    //Index of the maven identifiers for duplicate checks in constant time
+    private final Set<MavenIdentifier> mavenIdentifierIndex;
 
     public MtaIssue(String mtaRuleId, String description) {
 
         this.mtaRuleId = mtaRuleId;
         this.description = description;
         this.mavenIdentifiers = new ArrayList<>();
+        this.mavenIdentifierIndex = new HashSet<>();
         this.packages = new ArrayList<>();
         this.generalIssue = false;
     }
@@ -37,6 +43,30 @@ public class MtaIssue {
 
     public void setMavenIdentifiers(List<MavenIdentifier> mavenIdentifiers) {
         this.mavenIdentifiers = mavenIdentifiers;
+        this.mavenIdentifierIndex.clear();
+        this.mavenIdentifierIndex.addAll(mavenIdentifiers);
+    }
+
+    /**
+     * This method adds a maven identifier if it is not already present
+     *
+     * @param mavenIdentifier GroupId and artifactId of the blacklisted artifact
+     */
+    public void addMavenIdentifier(MavenIdentifier mavenIdentifier) {
+
+        if (mavenIdentifierIndex.add(mavenIdentifier)) {
+            mavenIdentifiers.add(mavenIdentifier);
+        }
+    }
+
+    /**
+     * This method checks if a maven identifier with the given groupId is present
+     *
+     * @param groupId GroupId to search
+     * @return True if a maven identifier has the groupId
+     */
+    public boolean containsMavenIdentifierWithGroupId(String groupId) {
+        return mavenIdentifiers.stream().anyMatch(mavenIdentifier -> Objects.equals(mavenIdentifier.getGroupId(), groupId));
     }
 
     public List<String> getPackages() {
@@ -89,5 +119,23 @@ public class MtaIssue {
         public void setArtifactId(String artifactId) {
             this.artifactId = artifactId;
         }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            MavenIdentifier that = (MavenIdentifier) o;
+            return Objects.equals(groupId, that.groupId) && Objects.equals(artifactId, that.artifactId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(groupId, artifactId);
+        }
     }
-}
\ No newline at end of file
+}
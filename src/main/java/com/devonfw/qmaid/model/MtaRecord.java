@@ -0,0 +1,62 @@
+package com.devonfw.qmaid.model;
+
+/**
+ * Model for a single entry of the CSV file generated by MTA. Only the columns which are used by the collectors are kept
+ */
+public class MtaRecord {
+
+    public static final String CATEGORY_MANDATORY = "mandatory";
+    public static final String CATEGORY_REFLECTION = "reflection";
+    public static final String CATEGORY_CONFIGURATION = "configuration";
+
+    private final String ruleId;
+    private final String category;
+    private final String title;
+    private final String className;
+    private final String path;
+    private final String jarFile;
+
+    public MtaRecord(String ruleId, String category, String title, String className, String path, String jarFile) {
+
+        this.ruleId = ruleId;
+        this.category = category;
+        this.title = title;
+        this.className = className;
+        this.path = path;
+        this.jarFile = jarFile;
+    }
+
+    /**
+     * This method creates a record with another jar file name, e.g. for a cached result of the same jar file stored under another name
+     *
+     * @param jarFile Name of the jar file
+     * @return Record with the given jar file name
+     */
+    public MtaRecord withJarFile(String jarFile) {
+        return new MtaRecord(ruleId, category, title, className, path, jarFile);
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getJarFile() {
+        return jarFile;
+    }
+}
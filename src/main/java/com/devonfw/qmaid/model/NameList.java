@@ -0,0 +1,121 @@
+package com.devonfw.qmaid.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable list of dotted names like packages and classes. Equal names of all lists are the same String instance, so a name which is
+ * contained in several dependencies is stored once. Lists which are combined from other lists share their names instead of copying them,
+ * e.g. the classes of a dependency including the classes of its transitive dependencies
+ */
+public final class NameList extends AbstractList<String> implements RandomAccess {
+
+    public static final NameList EMPTY = new NameList(new String[0][], new int[]{0});
+
+    //Names of all lists, safe to use from several threads
+    private static final Map<String, String> SHARED_NAMES = new ConcurrentHashMap<>();
+
+    //Immutable parts of the list and the index of the first name of each part. The last entry is the size of the list
+    private final String[][] parts;
+    private final int[] startsOfParts;
+
+    private NameList(String[][] parts, int[] startsOfParts) {
+
+        this.parts = parts;
+        this.startsOfParts = startsOfParts;
+    }
+
+    /**
+     * This method creates a list of names. Names which are already contained in another list are replaced by the shared instance
+     *
+     * @param names Dotted names
+     * @return The given list if it is already a name list, otherwise a new name list
+     */
+    public static NameList of(Collection<String> names) {
+
+        if (names instanceof NameList) {
+            return (NameList) names;
+        }
+        if (names.isEmpty()) {
+            return EMPTY;
+        }
+        String[] sharedNames = new String[names.size()];
+        int i = 0;
+        for (String name : names) {
+            String sharedName = SHARED_NAMES.putIfAbsent(name, name);
+            sharedNames[i++] = sharedName == null ? name : sharedName;
+        }
+        return new NameList(new String[][]{sharedNames}, new int[]{0, sharedNames.length});
+    }
+
+    /**
+     * This method combines lists of names without copying the names
+     *
+     * @param nameLists Lists of names
+     * @return List with the names of all lists in the order of the lists
+     */
+    public static NameList concat(List<? extends Collection<String>> nameLists) {
+
+        List<String[]> parts = new ArrayList<>();
+        for (Collection<String> names : nameLists) {
+            for (String[] part : of(names).parts) {
+                if (part.length > 0) {
+                    parts.add(part);
+                }
+            }
+        }
+
+        int[] startsOfParts = new int[parts.size() + 1];
+        for (int i = 0; i < parts.size(); i++) {
+            startsOfParts[i + 1] = startsOfParts[i] + parts.get(i).length;
+        }
+        return new NameList(parts.toArray(new String[0][]), startsOfParts);
+    }
+
+    @Override
+    public String get(int index) {
+
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        int part = 0;
+        if (parts.length > 1) {
+            //Binary search for the last part which starts at or before the index
+            int low = 0;
+            int high = parts.length - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (startsOfParts[middle] <= index) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            part = low;
+        }
+        return parts[part][index - startsOfParts[part]];
+    }
+
+    @Override
+    public int size() {
+        return startsOfParts[parts.length];
+    }
+
+    @Override
+    public boolean contains(Object object) {
+
+        for (String[] part : parts) {
+            for (String name : part) {
+                if (name.equals(object)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
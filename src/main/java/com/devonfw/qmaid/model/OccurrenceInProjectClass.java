@@ -0,0 +1,40 @@
+package com.devonfw.qmaid.model;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Model for the occurrence of a dependency in a class of the project. The matches are the import statements or the referenced classes of the
+ * class which belong to the dependency
+ */
+public class OccurrenceInProjectClass {
+
+    String fileName;
+    Set<String> matches;
+
+    public OccurrenceInProjectClass(String fileName) {
+
+        this.fileName = fileName;
+        this.matches = new LinkedHashSet<>();
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Set<String> getMatches() {
+        return matches;
+    }
+
+    public void setMatches(Set<String> matches) {
+        this.matches = matches;
+    }
+
+    public void addMatch(String match) {
+        matches.add(match);
+    }
+}
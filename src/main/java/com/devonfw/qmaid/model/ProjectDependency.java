@@ -4,18 +4,19 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Model for project dependencies
+ * Model for project dependencies. The packages and classes are stored as immutable {@link NameList}s, which share their names with all other
+ * dependencies
  */
 public class ProjectDependency {
 
     String groupId;
     String artifactId;
     String version;
-    List<String> packages;
-    List<String> classes;
-    List<String> allPossiblePackagesIncludingDependencies;
-    List<String> allPossibleClassesIncludingDependencies;
-    List<String> occurrenceInProjectClasses;
+    NameList packages;
+    NameList classes;
+    NameList allPossiblePackagesIncludingDependencies;
+    NameList allPossibleClassesIncludingDependencies;
+    List<OccurrenceInProjectClass> occurrenceInProjectClasses;
     Boolean isBlacklisted;
     String descriptionIfBlacklisted;
 
@@ -24,10 +25,10 @@ public class ProjectDependency {
         this.groupId = groupId;
         this.artifactId = artifactId;
         this.version = version;
-        this.packages = packages;
-        this.classes = classes;
-        this.allPossiblePackagesIncludingDependencies = new ArrayList<>();
-        this.allPossibleClassesIncludingDependencies = new ArrayList<>();
+        this.packages = NameList.of(packages);
+        this.classes = NameList.of(classes);
+        this.allPossiblePackagesIncludingDependencies = NameList.EMPTY;
+        this.allPossibleClassesIncludingDependencies = NameList.EMPTY;
         this.isBlacklisted = false;
         this.occurrenceInProjectClasses = new ArrayList<>();
     }
@@ -61,7 +62,7 @@ public class ProjectDependency {
     }
 
     public void setPackages(List<String> packages) {
-        this.packages = packages;
+        this.packages = NameList.of(packages);
     }
 
     public List<String> getClasses() {
@@ -69,7 +70,7 @@ public class ProjectDependency {
     }
 
     public void setClasses(List<String> classes) {
-        this.classes = classes;
+        this.classes = NameList.of(classes);
     }
 
     public List<String> getAllPossiblePackagesIncludingDependencies() {
@@ -77,7 +78,7 @@ public class ProjectDependency {
     }
 
     public void setAllPossiblePackagesIncludingDependencies(List<String> allPossiblePackagesIncludingDependencies) {
-        this.allPossiblePackagesIncludingDependencies = allPossiblePackagesIncludingDependencies;
+        this.allPossiblePackagesIncludingDependencies = NameList.of(allPossiblePackagesIncludingDependencies);
     }
 
     public List<String> getAllPossibleClassesIncludingDependencies() {
@@ -85,14 +86,14 @@ public class ProjectDependency {
     }
 
     public void setAllPossibleClassesIncludingDependencies(List<String> allPossibleClassesIncludingDependencies) {
-        this.allPossibleClassesIncludingDependencies = allPossibleClassesIncludingDependencies;
+        this.allPossibleClassesIncludingDependencies = NameList.of(allPossibleClassesIncludingDependencies);
     }
 
-    public List<String> getOccurrenceInProjectClasses() {
+    public List<OccurrenceInProjectClass> getOccurrenceInProjectClasses() {
         return occurrenceInProjectClasses;
     }
 
-    public void setOccurrenceInProjectClasses(List<String> occurrenceInProjectClasses) {
+    public void setOccurrenceInProjectClasses(List<OccurrenceInProjectClass> occurrenceInProjectClasses) {
         this.occurrenceInProjectClasses = occurrenceInProjectClasses;
     }
 
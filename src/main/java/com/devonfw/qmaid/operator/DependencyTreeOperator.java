@@ -2,12 +2,17 @@ package com.devonfw.qmaid.operator;
 
 import com.devonfw.qmaid.collector.AnalysisFailureCollector;
 import com.devonfw.qmaid.model.AnalysisFailureEntry;
+import com.devonfw.qmaid.model.NameList;
 import com.devonfw.qmaid.model.ProjectDependency;
+import com.devonfw.qmaid.util.DependencyGraphIndex;
+import com.devonfw.qmaid.util.JarClassIndex;
 import net.sf.mmm.code.java.maven.impl.MavenBridgeImpl;
 import org.apache.maven.model.Model;
 import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositoryCache;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
@@ -16,10 +21,12 @@ import org.eclipse.aether.collection.DependencyCollectionException;
 import org.eclipse.aether.connector.basic.BasicRepositoryConnectorFactory;
 import org.eclipse.aether.graph.Dependency;
 import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.graph.Exclusion;
 import org.eclipse.aether.impl.DefaultServiceLocator;
 import org.eclipse.aether.repository.LocalRepository;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
 import org.eclipse.aether.resolution.ArtifactRequest;
 import org.eclipse.aether.resolution.ArtifactResolutionException;
 import org.eclipse.aether.resolution.ArtifactResult;
@@ -31,14 +38,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 
 /**
  * Operator class for analyzing the dependency tree
@@ -48,13 +65,50 @@ public class DependencyTreeOperator {
     List<DependencyNode> dependencyTreeRootNodes;
     List<Artifact> allArtifactsOfProject;
     List<ProjectDependency> projectDependencies;
+    DependencyGraphIndex dependencyGraphIndex;
+
+    //Resolver context which is shared by all resolutions of the analysis
+    private final RepositorySystem repositorySystem;
+    private final RepositorySystemSession repositorySystemSession;
+    private final List<RemoteRepository> remoteRepositories;
+    private final boolean offline;
 
     public DependencyTreeOperator(File projectPomLocation, File mavenRepoLocation,
                                   List<Artifact> applicationStartupLibrariesOfProject) {
 
-        generateDependencyTree(projectPomLocation, mavenRepoLocation, applicationStartupLibrariesOfProject);
+        this(projectPomLocation, mavenRepoLocation, applicationStartupLibrariesOfProject, false, 1, false, new ArrayList<>(), null);
+    }
+
+    /**
+     * @param projectPomLocation                   Path to the POM of the project
+     * @param mavenRepoLocation                    Location of the local maven repository
+     * @param applicationStartupLibrariesOfProject Libraries of the application startup, used to find out versions of the dependencies
+     * @param singleGraph                          Collect the dependencies of the whole project with one request instead of one request per
+     *                                             direct dependency
+     * @param resolverThreads                      Number of threads which read the artifact descriptors in parallel before the single graph
+     *                                             is collected
+     * @param offline                              Never access the network. Only the local maven repository and file mirrors are used
+     * @param mirrorUrls                           URLs of repositories which are used instead of Maven Central, e.g. file:///opt/maven-mirror
+     * @param jarClassIndex                        Index of the classes and packages of jar files or null if no index should be used
+     */
+    public DependencyTreeOperator(File projectPomLocation, File mavenRepoLocation, List<Artifact> applicationStartupLibrariesOfProject,
+                                  boolean singleGraph, int resolverThreads, boolean offline, List<String> mirrorUrls,
+                                  JarClassIndex jarClassIndex) {
+
+        this.offline = offline;
+        repositorySystem = newRepositorySystem();
+        repositorySystemSession = newRepositorySystemSession(repositorySystem, mavenRepoLocation, singleGraph);
+        remoteRepositories = newRepositories(mirrorUrls);
+
+        if (singleGraph) {
+            generateDependencyTreeAsSingleGraph(projectPomLocation, mavenRepoLocation, applicationStartupLibrariesOfProject,
+                    Math.max(1, resolverThreads));
+        } else {
+            generateDependencyTree(projectPomLocation, mavenRepoLocation, applicationStartupLibrariesOfProject);
+        }
         generateArtifactsList(mavenRepoLocation);
-        createProjectDependencyObjectsFromArtifacts(allArtifactsOfProject);
+        createProjectDependencyObjectsFromArtifacts(allArtifactsOfProject, jarClassIndex);
+        dependencyGraphIndex = new DependencyGraphIndex(dependencyTreeRootNodes, projectDependencies);
     }
 
     private static final Logger LOG = LoggerFactory.getLogger(DependencyTreeOperator.class);
@@ -73,24 +127,9 @@ public class DependencyTreeOperator {
             if (dependency.getScope() != null && dependency.getScope().equals("test")) {
                 continue;
             }
-            String version = dependency.getVersion();
-
+            String version = findVersionOfDependency(dependency, applicationStartupLibrariesOfProject);
             if (version == null) {
-                Optional<Artifact> localArtifact = applicationStartupLibrariesOfProject.stream().filter(artifact -> artifact.getGroupId()
-                        .equals(dependency.getGroupId()) && artifact.getArtifactId()
-                        .equals(dependency.getArtifactId())).findFirst();
-                if (localArtifact.isPresent()) {
-                    version = localArtifact.get().getVersion();
-                } else {
-                    AnalysisFailureCollector.addAnalysisFailure(
-                            new AnalysisFailureEntry(dependency.getGroupId() + ":" + dependency.getArtifactId(),
-                                    "Cannot resolve artifact because the version cannot be found out. " +
-                                            "The remaining branch of the dependency tree cannot be built further for this dependency."));
-                    LOG.debug("Cannot resolve artifact: " +
-                            dependency.getGroupId() + ":" + dependency.getArtifactId() +
-                            ". The version cannot be found out. The remaining branch of the dependency tree cannot be built further for this dependency.");
-                    continue;
-                }
+                continue;
             }
 
             DependencyNode rootNode;
@@ -99,7 +138,7 @@ public class DependencyTreeOperator {
                     continue;
                 }
                 rootNode = buildBranchesOfRootNode(
-                        new DefaultArtifact(dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + version), mavenRepoLocation);
+                        new DefaultArtifact(dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + version));
             } catch (DependencyCollectionException | ArtifactResolutionException e) {
                 AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(
                         dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + version,
@@ -116,33 +155,217 @@ public class DependencyTreeOperator {
         }
     }
 
+    /**
+     * This method generates the dependency tree of a project with a single request for all direct dependencies. Subtrees which are shared by
+     * several direct dependencies are collected only once and the conflicts between the branches are resolved like Maven does. The root nodes
+     * of the dependency tree are the direct dependencies of the collected graph
+     */
+    private void generateDependencyTreeAsSingleGraph(File projectPomLocation, File mavenRepoLocation,
+                                                     List<Artifact> applicationStartupLibrariesOfProject, int resolverThreads) {
+
+        dependencyTreeRootNodes = new ArrayList<>();
+
+        MavenBridgeImpl mavenBridge = new MavenBridgeImpl(mavenRepoLocation);
+        Model model = mavenBridge.readModel(projectPomLocation);
+
+        Map<String, String> managedVersions = new HashMap<>();
+        List<Dependency> managedDependencies = new ArrayList<>();
+        if (model.getDependencyManagement() != null) {
+            for (org.apache.maven.model.Dependency dependency : model.getDependencyManagement().getDependencies()) {
+                //Imported BOMs are not expanded by the raw model
+                if (dependency.getVersion() == null || "import".equals(dependency.getScope())) {
+                    continue;
+                }
+                managedVersions.put(dependency.getGroupId() + ":" + dependency.getArtifactId(), dependency.getVersion());
+                managedDependencies.add(toDependency(dependency, dependency.getVersion()));
+            }
+        }
+
+        List<Dependency> directDependencies = new ArrayList<>();
+        for (org.apache.maven.model.Dependency dependency : model.getDependencies()) {
+            if (dependency.getScope() != null && dependency.getScope().equals("test")) {
+                continue;
+            }
+            String version = dependency.getVersion();
+            if (version == null) {
+                version = managedVersions.get(dependency.getGroupId() + ":" + dependency.getArtifactId());
+            }
+            if (version == null) {
+                version = findVersionOfDependency(dependency, applicationStartupLibrariesOfProject);
+            }
+            if (version != null) {
+                directDependencies.add(toDependency(dependency, version));
+            }
+        }
+
+        if (resolverThreads > 1) {
+            readArtifactDescriptorsInParallel(directDependencies, resolverThreads);
+        }
+
+        String groupId = model.getGroupId() == null && model.getParent() != null ? model.getParent().getGroupId() : model.getGroupId();
+        String version = model.getVersion() == null && model.getParent() != null ? model.getParent().getVersion() : model.getVersion();
+        CollectRequest collectRequest = new CollectRequest();
+        collectRequest.setRootArtifact(new DefaultArtifact(groupId, model.getArtifactId(), "pom", version));
+        collectRequest.setDependencies(directDependencies);
+        collectRequest.setManagedDependencies(managedDependencies);
+        collectRequest.setRepositories(remoteRepositories);
+
+        CollectResult collectResult;
+        try {
+            collectResult = repositorySystem.collectDependencies(repositorySystemSession, collectRequest);
+        } catch (DependencyCollectionException e) {
+            //The graph is still collected for all artifacts which could be resolved
+            collectResult = e.getResult();
+            for (Exception exception : collectResult.getExceptions()) {
+                AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(projectPomLocation.toString(),
+                        "Could not resolve artifact. The dependency tree is incomplete: " + exception.getMessage()));
+            }
+            LOG.debug("Could not resolve all dependencies of " + projectPomLocation + ". The dependency tree is incomplete.", e);
+        }
+        if (collectResult.getRoot() == null) {
+            return;
+        }
+
+        for (DependencyNode rootNode : collectResult.getRoot().getChildren()) {
+            Artifact artifact = rootNode.getArtifact();
+            try {
+                rootNode.setArtifact(resolveArtifactFromMavenOnlineRepository(artifact));
+            } catch (ArtifactResolutionException e) {
+                AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(
+                        artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion(),
+                        "Could not resolve artifact. The remaining branch of the dependency tree cannot be built further for this dependency."));
+                LOG.debug("Could not resolve artifact: " + artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion() +
+                        ". The remaining branch of the dependency tree cannot be built further for this dependency.", e);
+                continue;
+            }
+            dependencyTreeRootNodes.add(rootNode);
+        }
+    }
+
+    /**
+     * This method reads the artifact descriptors of the dependency graph level by level with several threads. The collector of the resolver
+     * reads the descriptors one after another, so the POMs are downloaded and parsed in parallel before. The collector finds them in the local
+     * maven repository and in the model cache of the session afterwards
+     *
+     * @param directDependencies Direct dependencies of the project
+     * @param resolverThreads    Number of threads
+     */
+    private void readArtifactDescriptorsInParallel(List<Dependency> directDependencies, int resolverThreads) {
+
+        ExecutorService executorService = Executors.newFixedThreadPool(resolverThreads);
+        try {
+            Set<String> readArtifacts = new HashSet<>();
+            List<Artifact> level = new ArrayList<>();
+            for (Dependency dependency : directDependencies) {
+                if (readArtifacts.add(dependency.getArtifact().toString())) {
+                    level.add(dependency.getArtifact());
+                }
+            }
+
+            while (!level.isEmpty()) {
+                List<Future<ArtifactDescriptorResult>> results = new ArrayList<>();
+                for (Artifact artifact : level) {
+                    ArtifactDescriptorRequest descriptorRequest = new ArtifactDescriptorRequest(artifact, remoteRepositories, null);
+                    results.add(executorService.submit(() -> repositorySystem.readArtifactDescriptor(repositorySystemSession, descriptorRequest)));
+                }
+
+                List<Artifact> nextLevel = new ArrayList<>();
+                for (Future<ArtifactDescriptorResult> result : results) {
+                    try {
+                        for (Dependency dependency : result.get().getDependencies()) {
+                            String scope = dependency.getScope();
+                            if (dependency.isOptional() || scope.equals("test") || scope.equals("provided") ||
+                                    dependency.getArtifact().getVersion().matches(".*[\\[\\](),].*")) {
+                                continue;
+                            }
+                            if (readArtifacts.add(dependency.getArtifact().toString())) {
+                                nextLevel.add(dependency.getArtifact());
+                            }
+                        }
+                    } catch (ExecutionException e) {
+                        //The failure is reported by the collector
+                        LOG.debug("Could not read artifact descriptor in advance", e);
+                    }
+                }
+                level = nextLevel;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.debug("Reading artifact descriptors in advance was interrupted", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * This method converts a dependency of the project model to a dependency of the resolver
+     *
+     * @param dependency Dependency of the project model
+     * @param version    Version of the dependency
+     * @return Dependency for the resolver
+     */
+    private Dependency toDependency(org.apache.maven.model.Dependency dependency, String version) {
+
+        List<Exclusion> exclusions = new ArrayList<>();
+        for (org.apache.maven.model.Exclusion exclusion : dependency.getExclusions()) {
+            exclusions.add(new Exclusion(exclusion.getGroupId(), exclusion.getArtifactId(), "*", "*"));
+        }
+        String extension = dependency.getType() == null || dependency.getType().equals("jar") ? "jar" : dependency.getType();
+        Artifact artifact = new DefaultArtifact(dependency.getGroupId(), dependency.getArtifactId(), dependency.getClassifier(), extension, version);
+        return new Dependency(artifact, dependency.getScope() == null ? "compile" : dependency.getScope(), dependency.isOptional(), exclusions);
+    }
+
+    /**
+     * This method finds out the version of a direct dependency. Dependencies without version get the version of the library which is used at
+     * the application startup
+     *
+     * @param dependency                           Dependency of the project model
+     * @param applicationStartupLibrariesOfProject Libraries of the application startup
+     * @return The version or null if it cannot be found out
+     */
+    private String findVersionOfDependency(org.apache.maven.model.Dependency dependency, List<Artifact> applicationStartupLibrariesOfProject) {
+
+        if (dependency.getVersion() != null) {
+            return dependency.getVersion();
+        }
+
+        Optional<Artifact> localArtifact = applicationStartupLibrariesOfProject.stream().filter(artifact -> artifact.getGroupId()
+                .equals(dependency.getGroupId()) && artifact.getArtifactId()
+                .equals(dependency.getArtifactId())).findFirst();
+        if (localArtifact.isPresent()) {
+            return localArtifact.get().getVersion();
+        }
+
+        AnalysisFailureCollector.addAnalysisFailure(
+                new AnalysisFailureEntry(dependency.getGroupId() + ":" + dependency.getArtifactId(),
+                        "Cannot resolve artifact because the version cannot be found out. " +
+                                "The remaining branch of the dependency tree cannot be built further for this dependency."));
+        LOG.debug("Cannot resolve artifact: " +
+                dependency.getGroupId() + ":" + dependency.getArtifactId() +
+                ". The version cannot be found out. The remaining branch of the dependency tree cannot be built further for this dependency.");
+        return null;
+    }
+
     /**
      * This method enhances an artifact with all children that have compile or runtime as scope
      *
-     * @param artifact          The root dependency for enrichment
-     * @param mavenRepoLocation Location of the local maven repository
+     * @param artifact The root dependency for enrichment
      * @return DependencyNode enriched with all children which have compile or runtime as scope
      * @throws DependencyCollectionException If maven dependency is not available
      */
-    private DependencyNode buildBranchesOfRootNode(Artifact artifact, File mavenRepoLocation)
+    private DependencyNode buildBranchesOfRootNode(Artifact artifact)
             throws DependencyCollectionException, ArtifactResolutionException {
 
-        RepositorySystem system = newRepositorySystem();
-        DefaultRepositorySystemSession session = newRepositorySystemSession(system, mavenRepoLocation);
-
         ArtifactRequest artifactRequest = new ArtifactRequest();
         artifactRequest.setArtifact(artifact);
-        artifactRequest.setRepositories(newRepositories());
-        ArtifactResult artifactResult = system.resolveArtifact(session, artifactRequest);
-
-        ArtifactDescriptorRequest descriptorRequest = new ArtifactDescriptorRequest();
-        descriptorRequest.setArtifact(artifactResult.getArtifact());
+        artifactRequest.setRepositories(remoteRepositories);
+        ArtifactResult artifactResult = repositorySystem.resolveArtifact(repositorySystemSession, artifactRequest);
 
         CollectRequest collectRequest = new CollectRequest();
         collectRequest.setRoot(new Dependency(artifactResult.getArtifact(), ""));
-        collectRequest.setRepositories(newRepositories());
+        collectRequest.setRepositories(remoteRepositories);
 
-        CollectResult collectResult = system.collectDependencies(session, collectRequest);
+        CollectResult collectResult = repositorySystem.collectDependencies(repositorySystemSession, collectRequest);
         return collectResult.getRoot();
     }
 
@@ -170,30 +393,57 @@ public class DependencyTreeOperator {
     }
 
     /**
-     * This method initiates the repository system session
+     * This method initiates the repository system session. The session caches the artifact descriptors and POMs, so that dependencies which are
+     * shared by several branches of the dependency tree are only read once
      *
+     * @param singleGraph Use the breadth-first collector of the resolver, which skips subtrees that are already collected
      * @return repository system session
      */
-    private DefaultRepositorySystemSession newRepositorySystemSession(RepositorySystem system,
-                                                                      File mavenRepoLocation) {
+    private RepositorySystemSession newRepositorySystemSession(RepositorySystem system,
+                                                               File mavenRepoLocation, boolean singleGraph) {
 
         DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
 
         LocalRepository localRepo = new LocalRepository(mavenRepoLocation.toString());
         session.setLocalRepositoryManager(system.newLocalRepositoryManager(session, localRepo));
+        session.setCache(new DefaultRepositoryCache());
+        if (offline) {
+            //Artifacts which are not found fail immediately instead of waiting for network timeouts. File mirrors stay available
+            session.setOffline(true);
+            session.setConfigProperty("aether.offline.protocols", "file");
+        }
+        //The version resolver of maven-resolver-provider 3.6.1 can not use the cache of maven-resolver 1.8.0
+        session.setConfigProperty("aether.versionResolver.noCache", true);
+        if (singleGraph) {
+            session.setConfigProperty("aether.collector.impl", "bf");
+        }
+        session.setReadOnly();
 
         return session;
     }
 
     /**
-     * This method initiates the remote repositories
+     * This method initiates the remote repositories. The mirrors replace Maven Central
      *
+     * @param mirrorUrls URLs of the mirror repositories
      * @return List of remote repositories
      */
-    private List<RemoteRepository> newRepositories() {
+    private List<RemoteRepository> newRepositories(List<String> mirrorUrls) {
 
-        return new ArrayList<>(Collections.singletonList(
-                new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build()));
+        if (mirrorUrls.isEmpty()) {
+            return new ArrayList<>(Collections.singletonList(
+                    new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build()));
+        }
+
+        List<RemoteRepository> repositories = new ArrayList<>();
+        for (int i = 0; i < mirrorUrls.size(); i++) {
+            String mirrorUrl = mirrorUrls.get(i);
+            if (offline && !mirrorUrl.startsWith("file:")) {
+                LOG.warn("Mirror " + mirrorUrl + " is not used in offline mode. Only file:// mirrors are supported");
+            }
+            repositories.add(new RemoteRepository.Builder("mirror-" + i, "default", mirrorUrl).build());
+        }
+        return repositories;
     }
 
     /**
@@ -204,9 +454,11 @@ public class DependencyTreeOperator {
     private void generateArtifactsList(File mavenRepoLocation) {
 
         allArtifactsOfProject = new ArrayList<>();
+        Set<String> gavsOfArtifacts = new HashSet<>();
         for (DependencyNode rootNode : dependencyTreeRootNodes) {
             allArtifactsOfProject.add(rootNode.getArtifact());
-            findArtifactsOfNode(rootNode, mavenRepoLocation, allArtifactsOfProject);
+            gavsOfArtifacts.add(DependencyGraphIndex.getGav(rootNode.getArtifact()));
+            findArtifactsOfNode(rootNode, mavenRepoLocation, allArtifactsOfProject, gavsOfArtifacts);
         }
     }
 
@@ -216,34 +468,30 @@ public class DependencyTreeOperator {
      * @param node                  Node to analyze
      * @param mavenRepoLocation     Location of the local maven repository
      * @param allArtifactsOfProject List of all artifacts
+     * @param gavsOfArtifacts       groupId:artifactId:version of the artifacts in the list
      */
     private List<Artifact> findArtifactsOfNode(DependencyNode node, File mavenRepoLocation,
-                                               List<Artifact> allArtifactsOfProject) {
+                                               List<Artifact> allArtifactsOfProject, Set<String> gavsOfArtifacts) {
 
         List<DependencyNode> childrenFromNode = node.getChildren();
         for (DependencyNode child : childrenFromNode) {
             Artifact artifact = child.getArtifact();
-            boolean artifactAlreadyInList = allArtifactsOfProject
-                    .stream()
-                    .anyMatch(listEntry -> listEntry.getGroupId().equals(artifact.getGroupId()) &&
-                            listEntry.getArtifactId().equals(artifact.getArtifactId()) &&
-                            listEntry.getVersion().equals(artifact.getVersion()));
-            if (!artifactAlreadyInList) {
+            String gav = DependencyGraphIndex.getGav(artifact);
+            if (!gavsOfArtifacts.contains(gav)) {
                 File file;
                 try {
                     file = tryFindJarInLocalMavenRepo(artifact, mavenRepoLocation);
                 } catch (ArtifactResolutionException e) {
-                    AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(
-                            artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion(),
+                    AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(gav,
                             "Could not find jar file in local maven repository. Reflection analysis of this artifact is not possible."));
-                    LOG.debug("Could not find jar file in local maven repository for artifact: " +
-                            artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion() +
+                    LOG.debug("Could not find jar file in local maven repository for artifact: " + gav +
                             ". Reflection analysis of this artifact is not possible.");
                     continue;
                 }
                 Artifact artifactWithFile = artifact.setFile(file);
                 allArtifactsOfProject.add(artifactWithFile);
-                findArtifactsOfNode(child, mavenRepoLocation, allArtifactsOfProject);
+                gavsOfArtifacts.add(gav);
+                findArtifactsOfNode(child, mavenRepoLocation, allArtifactsOfProject, gavsOfArtifacts);
             }
         }
         return allArtifactsOfProject;
@@ -274,7 +522,7 @@ public class DependencyTreeOperator {
         File jarFile = new File(versionFolder, pomFilename.toString());
 
         if (!jarFile.exists()) {
-            jarFile = resolveArtifactFromMavenOnlineRepository(artifact, mavenRepoLocation).getFile();
+            jarFile = resolveArtifactFromMavenOnlineRepository(artifact).getFile();
             if (!jarFile.exists()) {
                 throw new ArtifactResolutionException(new ArrayList<>());
             }
@@ -285,25 +533,21 @@ public class DependencyTreeOperator {
     /**
      * This method tries to resolve the specified artifact in the online maven repository and stores it in the local maven repository
      *
-     * @param artifact          Artifact to resolve
-     * @param mavenRepoLocation Location of the local maven repository
+     * @param artifact Artifact to resolve
      * @return The successfully resolved artifact
      * @throws ArtifactResolutionException If the artifact is not resolvable
      */
-    private Artifact resolveArtifactFromMavenOnlineRepository(Artifact artifact, File mavenRepoLocation) throws ArtifactResolutionException {
-
-        RepositorySystem system = newRepositorySystem();
-        DefaultRepositorySystemSession session = newRepositorySystemSession(system, mavenRepoLocation);
+    private Artifact resolveArtifactFromMavenOnlineRepository(Artifact artifact) throws ArtifactResolutionException {
 
         ArtifactRequest artifactRequest = new ArtifactRequest();
         artifactRequest.setArtifact(artifact);
-        artifactRequest.setRepositories(newRepositories());
-        ArtifactResult artifactResult = system.resolveArtifact(session, artifactRequest);
+        artifactRequest.setRepositories(remoteRepositories);
+        ArtifactResult artifactResult = repositorySystem.resolveArtifact(repositorySystemSession, artifactRequest);
         return artifactResult.getArtifact();
     }
 
     /**
-     * This method enhances the dependencies with packages and classes
+     * This method enhances the dependencies with the packages and classes of all their transitive dependencies
      *
      * @param dependencyBlacklist List of blacklisted dependencies
      */
@@ -311,145 +555,83 @@ public class DependencyTreeOperator {
 
         for (ProjectDependency blacklistEntry : dependencyBlacklist) {
 
-            List<String> allPossiblePackagesOfBlacklistEntry = new ArrayList<>(blacklistEntry.getPackages());
-            List<String> allPossibleClassesOfBlacklistEntry = new ArrayList<>(blacklistEntry.getClasses());
-
-            DependencyNode dependencyNode = findDependencyInDependencyTreeRootNodes(dependencyTreeRootNodes, blacklistEntry);
-            boolean rootNodeDependency = true;
+            //The lists of the dependencies are shared, not copied
+            List<List<String>> allPossiblePackagesOfBlacklistEntry = new ArrayList<>(Collections.singletonList(blacklistEntry.getPackages()));
+            List<List<String>> allPossibleClassesOfBlacklistEntry = new ArrayList<>(Collections.singletonList(blacklistEntry.getClasses()));
 
-            if (dependencyNode == null) {
-                dependencyNode = findDependencyInDependencyTree(dependencyTreeRootNodes, blacklistEntry);
-                rootNodeDependency = false;
+            String gav = DependencyGraphIndex.getGav(blacklistEntry);
+            for (ProjectDependency transitiveDependency : dependencyGraphIndex.getTransitiveDependencies(gav)) {
+                allPossiblePackagesOfBlacklistEntry.add(transitiveDependency.getPackages());
+                allPossibleClassesOfBlacklistEntry.add(transitiveDependency.getClasses());
             }
-
-            if (dependencyNode != null && rootNodeDependency) {
-                collectPackagesAndClassesFromChildren(dependencyNode, allPossiblePackagesOfBlacklistEntry,
-                        allPossibleClassesOfBlacklistEntry, projectDependencies);
-            }
-            blacklistEntry.setAllPossiblePackagesIncludingDependencies(allPossiblePackagesOfBlacklistEntry);
-            blacklistEntry.setAllPossibleClassesIncludingDependencies(allPossibleClassesOfBlacklistEntry);
+            blacklistEntry.setAllPossiblePackagesIncludingDependencies(NameList.concat(allPossiblePackagesOfBlacklistEntry));
+            blacklistEntry.setAllPossibleClassesIncludingDependencies(NameList.concat(allPossibleClassesOfBlacklistEntry));
         }
     }
 
     /**
-     * This method collects all packages and classes from the dependencies of a node of the dependency tree
-     *
-     * @param node                                The given node
-     * @param allPossiblePackagesOfBlacklistEntry List to save the found packages
-     * @param allPossibleClassesOfBlacklistEntry  List to save the found classes
-     * @param projectDependencies                 List with all project dependencies
+     * This method creates a list of ProjectDependency objects based on the found artifacts. The ProjectDependency objects are enriched with the
+     * included packages and classes. The jar files are indexed in parallel, the list keeps the order of the artifacts. Jar files which are
+     * contained in the jar class index are not read again
      */
-    private void collectPackagesAndClassesFromChildren(DependencyNode node, List<String> allPossiblePackagesOfBlacklistEntry,
-                                                       List<String> allPossibleClassesOfBlacklistEntry,
-                                                       List<ProjectDependency> projectDependencies) {
+    private void createProjectDependencyObjectsFromArtifacts(List<Artifact> allArtifactsOfProject, JarClassIndex jarClassIndex) {
 
-        List<DependencyNode> childrenFromNode = node.getChildren();
-        for (DependencyNode child : childrenFromNode) {
-            Artifact artifact = child.getArtifact();
-
-            Optional<ProjectDependency> projectDependency = projectDependencies.stream()
-                    .filter(dependency -> dependency.getGroupId().equals(artifact.getGroupId()) &&
-                            dependency.getArtifactId().equals(artifact.getArtifactId()) &&
-                            dependency.getVersion().equals(artifact.getVersion())).findAny();
-            if (projectDependency.isPresent()) {
-                allPossiblePackagesOfBlacklistEntry.addAll(projectDependency.get().getPackages());
-                allPossibleClassesOfBlacklistEntry.addAll(projectDependency.get().getClasses());
-            }
-        }
-    }
-
-    /**
-     * This method searches a dependency in the dependency tree root nodes
-     *
-     * @param dependencyTreeRootNodes Dependency tree
-     * @param dependency              The searched dependency
-     * @return Found node of the tree
-     */
-    private DependencyNode findDependencyInDependencyTreeRootNodes(List<DependencyNode> dependencyTreeRootNodes,
-                                                                   ProjectDependency dependency) {
-
-        for (DependencyNode dependencyTreeRootNode : dependencyTreeRootNodes) {
-            Artifact artifact = dependencyTreeRootNode.getArtifact();
-            if (artifact.getGroupId().equals(dependency.getGroupId()) && artifact.getArtifactId().equals(dependency.getArtifactId()) &&
-                    artifact.getVersion().equals(dependency.getVersion())) {
-                return dependencyTreeRootNode;
-            }
+        projectDependencies = allArtifactsOfProject.parallelStream()
+                .map(artifact -> createProjectDependencyObjectFromArtifact(artifact, jarClassIndex))
+                .collect(Collectors.toList());
+        if (jarClassIndex != null) {
+            jarClassIndex.save();
         }
-        return null;
     }
 
     /**
-     * This method searches a dependency in the dependency tree
+     * This method creates a ProjectDependency object with the packages and classes of the jar file of the artifact. Only the central directory
+     * of the jar file is read, so the entries are not decompressed
      *
-     * @param dependencyTreeRootNodes Dependency tree
-     * @param dependency              The searched dependency
-     * @return Found node of the tree
+     * @param artifact      Artifact with jar file
+     * @param jarClassIndex Index of the classes and packages of jar files or null
+     * @return ProjectDependency object of the artifact
      */
-    private DependencyNode findDependencyInDependencyTree(List<DependencyNode> dependencyTreeRootNodes,
-                                                                   ProjectDependency dependency) {
+    private static ProjectDependency createProjectDependencyObjectFromArtifact(Artifact artifact, JarClassIndex jarClassIndex) {
 
-        for (DependencyNode dependencyTreeRootNode : dependencyTreeRootNodes) {
-            DependencyNode dependencyNode = checkBranches(dependencyTreeRootNode, dependency);
-            if (dependencyNode != null) {
-                return dependencyNode;
-            }
+        File dependencyLocation = artifact.getFile();
+        JarClassIndex.IndexedJar indexedJar = jarClassIndex == null ? null : jarClassIndex.get(dependencyLocation, artifact.getGroupId());
+        if (indexedJar != null) {
+            return new ProjectDependency(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(),
+                    indexedJar.getPackages(), indexedJar.getClasses());
         }
-        return null;
-    }
-
-    private DependencyNode checkBranches(DependencyNode node, ProjectDependency dependency) {
 
-        List<DependencyNode> childrenFromNode = node.getChildren();
-        for (DependencyNode child : childrenFromNode) {
-            Artifact artifact = child.getArtifact();
-            if (artifact.getGroupId().equals(dependency.getGroupId()) && artifact.getArtifactId().equals(dependency.getArtifactId()) &&
-                    artifact.getVersion().equals(dependency.getVersion())) {
-                return child;
-            }
-            checkBranches(child, dependency);
-        }
-        return null;
-    }
-
-    /**
-     * This method creates a list of ProjectDependency objects based on the found artifacts. The ProjectDependency objects are enriched with the
-     * included packages and classes
-     */
-    private void createProjectDependencyObjectsFromArtifacts(List<Artifact> allArtifactsOfProject) {
-
-        projectDependencies = new ArrayList<>();
-
-        for (Artifact artifact : allArtifactsOfProject) {
-            File dependencyLocation = artifact.getFile();
-            ProjectDependency projectDependency = new ProjectDependency(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(),
-                    new ArrayList<>(), new ArrayList<>());
-            if (dependencyLocation.exists()) {
-                try {
-                    ZipInputStream zip = new ZipInputStream(new FileInputStream(dependencyLocation));
-                    for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
-                        String filepath = entry.getName();
-                        String fqnOfClassWithFileExtension = filepath.replace('/', '.');
-                        if (!entry.isDirectory() && filepath.endsWith(".class") && !filepath.contains("$")
-                                && fqnOfClassWithFileExtension.contains(artifact.getGroupId())) {
-                            String fqnOfClass = fqnOfClassWithFileExtension.substring(0, fqnOfClassWithFileExtension.length() - ".class".length());
-                            projectDependency.getClasses().add(fqnOfClass);
-                            String packageOfClass = fqnOfClass.substring(0, fqnOfClass.lastIndexOf("."));
-                            if (!projectDependency.getPackages().contains(packageOfClass)) {
-                                projectDependency.getPackages().add(packageOfClass);
-                            }
-                        }
+        Set<String> packages = new LinkedHashSet<>();
+        Set<String> classes = new LinkedHashSet<>();
+        if (dependencyLocation.exists()) {
+            try (ZipFile zipFile = new ZipFile(dependencyLocation)) {
+                Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    String filepath = entry.getName();
+                    if (entry.isDirectory() || !filepath.endsWith(".class") || filepath.contains("$")) {
+                        continue;
+                    }
+                    String fqnOfClass = filepath.substring(0, filepath.length() - ".class".length()).replace('/', '.');
+                    if (fqnOfClass.contains(artifact.getGroupId())) {
+                        classes.add(fqnOfClass);
+                        packages.add(fqnOfClass.substring(0, fqnOfClass.lastIndexOf(".")));
                     }
-                } catch (IOException e) {
-                    AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(
-                            artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion(),
-                            "Could not find jar file in local maven repository. Collecting classes and packages of this artifact is not possible."));
-                    LOG.debug("Could not find jar file in local maven repository for artifact: " +
-                            artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion() +
-                            ". Collecting classes and packages of this artifact is not possible.");
                 }
+                if (jarClassIndex != null) {
+                    jarClassIndex.put(dependencyLocation, artifact.getGroupId(), new ArrayList<>(packages), new ArrayList<>(classes));
+                }
+            } catch (IOException e) {
+                AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(
+                        artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion(),
+                        "Could not find jar file in local maven repository. Collecting classes and packages of this artifact is not possible."));
+                LOG.debug("Could not find jar file in local maven repository for artifact: " +
+                        artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion() +
+                        ". Collecting classes and packages of this artifact is not possible.");
             }
-            projectDependencies.add(projectDependency);
         }
+        return new ProjectDependency(artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(),
+                new ArrayList<>(packages), new ArrayList<>(classes));
     }
 
     public List<DependencyNode> getDependencyTreeRootNodes() {
@@ -463,4 +645,8 @@ public class DependencyTreeOperator {
     public List<Artifact> getAllArtifactsOfProject() {
         return allArtifactsOfProject;
     }
+
+    public DependencyGraphIndex getDependencyGraphIndex() {
+        return dependencyGraphIndex;
+    }
 }
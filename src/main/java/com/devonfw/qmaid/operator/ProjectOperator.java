@@ -2,9 +2,13 @@ package com.devonfw.qmaid.operator;
 
 import com.devonfw.qmaid.collector.AnalysisFailureCollector;
 import com.devonfw.qmaid.model.AnalysisFailureEntry;
+import com.devonfw.qmaid.model.OccurrenceInProjectClass;
 import com.devonfw.qmaid.model.ProjectDependency;
-import com.thoughtworks.qdox.JavaProjectBuilder;
-import com.thoughtworks.qdox.model.JavaSource;
+import com.devonfw.qmaid.util.ClassFileConstantPool;
+import com.devonfw.qmaid.util.DependencyUtilities;
+import com.devonfw.qmaid.util.ImportManifest;
+import com.devonfw.qmaid.util.ImportScanner;
+import com.devonfw.qmaid.util.SymbolIndex;
 import net.sf.mmm.code.impl.java.JavaContext;
 import net.sf.mmm.code.impl.java.source.maven.JavaSourceProviderUsingMaven;
 import net.sf.mmm.code.impl.java.source.maven.MavenDependencyCollector;
@@ -16,13 +20,23 @@ import org.eclipse.aether.artifact.DefaultArtifact;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Operator class for project analysis
@@ -57,7 +71,7 @@ public class ProjectOperator {
             return;
         }
 
-        applicationStartupLibrariesOfProject = new ArrayList<>();
+        List<File> jarFiles = new ArrayList<>();
         URL[] urls = dependencyCollector.asUrls();
         for (URL url : urls) {
             String urlWithoutType;
@@ -69,19 +83,54 @@ public class ProjectOperator {
                 urlWithoutType = url.toString().substring(5);
             }
             if (urlWithoutType.endsWith(".jar")) {
-                try {
-                    Model model = new MavenBridgeImpl().readEffectiveModelFromLocation(new File(urlWithoutType), false);
-                    Artifact artifact = new DefaultArtifact(model.getGroupId() + ":" + model.getArtifactId() + ":" + model.getVersion());
-                    applicationStartupLibrariesOfProject.add(artifact);
-                } catch (Exception e) {
-                    AnalysisFailureCollector.addAnalysisFailure(
-                            new AnalysisFailureEntry(urlWithoutType, "Failed to resolve effective POM of this artifact"));
-                    LOG.debug("Failed to resolve effective POM this artifact: " + urlWithoutType, e);
-                }
+                jarFiles.add(new File(urlWithoutType));
+            }
+        }
+
+        //Most jar files are identified by their path in the local maven repository or by their pom.properties. Only the others need the
+        //slow resolution of the effective POM, which is done in parallel
+        Artifact[] artifacts = new Artifact[jarFiles.size()];
+        List<Integer> jarFilesWithoutMetadata = new ArrayList<>();
+        for (int i = 0; i < jarFiles.size(); i++) {
+            artifacts[i] = DependencyUtilities.identifyArtifactFromRepositoryLayout(jarFiles.get(i), mavenRepoLocation);
+            if (artifacts[i] == null) {
+                artifacts[i] = DependencyUtilities.identifyArtifactFromPomProperties(jarFiles.get(i));
+            }
+            if (artifacts[i] == null) {
+                jarFilesWithoutMetadata.add(i);
+            }
+        }
+        jarFilesWithoutMetadata.parallelStream().forEach(i -> artifacts[i] = readArtifactFromEffectiveModel(jarFiles.get(i)));
+        LOG.debug("Identified " + (jarFiles.size() - jarFilesWithoutMetadata.size()) + " startup libraries from jar metadata and " +
+                jarFilesWithoutMetadata.size() + " from their effective POM");
+
+        applicationStartupLibrariesOfProject = new ArrayList<>();
+        for (Artifact artifact : artifacts) {
+            if (artifact != null) {
+                applicationStartupLibrariesOfProject.add(artifact);
             }
         }
     }
 
+    /**
+     * This method reads groupId, artifactId and version of a jar file from the effective POM next to it
+     *
+     * @param jarFile Jar file
+     * @return The artifact or null if the effective POM could not be resolved
+     */
+    private static Artifact readArtifactFromEffectiveModel(File jarFile) {
+
+        try {
+            Model model = new MavenBridgeImpl().readEffectiveModelFromLocation(jarFile, false);
+            return new DefaultArtifact(model.getGroupId() + ":" + model.getArtifactId() + ":" + model.getVersion());
+        } catch (Exception e) {
+            AnalysisFailureCollector.addAnalysisFailure(
+                    new AnalysisFailureEntry(jarFile.getPath(), "Failed to resolve effective POM of this artifact"));
+            LOG.debug("Failed to resolve effective POM this artifact: " + jarFile.getPath(), e);
+            return null;
+        }
+    }
+
     /**
      * This method collects all import statements recursively across all java files from an entrypoint and tries to assign them to the project
      * dependencies
@@ -89,110 +138,230 @@ public class ProjectOperator {
      * @param entry                   Folder to scan java classes
      * @param dependencyBlacklist     List with the blacklisted dependencies
      * @param dependencyTreeOperator  DependencyTreeOperator to get all project dependencies
+     * @param importManifest          Manifest of the import statements of the previous analysis or null if all files should be scanned
      */
-    public void occurrenceMeasurement(File entry, List<ProjectDependency> dependencyBlacklist, DependencyTreeOperator dependencyTreeOperator) {
+    public void occurrenceMeasurement(File entry, List<ProjectDependency> dependencyBlacklist, DependencyTreeOperator dependencyTreeOperator,
+                                      ImportManifest importManifest) {
 
         // Occurrence measurement can be enhanced with transitive dependencies of the blacklist items
         dependencyTreeOperator.enhanceDirectDependencyWithPackagesAndClassesFromTransitiveDependencies(dependencyBlacklist);
 
+        countImportStatements(entry, SymbolIndex.ofPackagesAndClassesIncludingDependencies(dependencyBlacklist), importManifest);
+    }
+
+    /**
+     * This method collects the classes referenced by the compiled classes of the project and tries to assign them to the project dependencies.
+     * Other than the import statements, the compiled classes also contain the classes which are used with their fully qualified name
+     *
+     * @param classesLocation        Folder with the compiled classes of the project, e.g. target/classes
+     * @param dependencyBlacklist    List with the blacklisted dependencies
+     * @param dependencyTreeOperator DependencyTreeOperator to get all project dependencies
+     */
+    public void occurrenceMeasurementInClasses(File classesLocation, List<ProjectDependency> dependencyBlacklist,
+                                               DependencyTreeOperator dependencyTreeOperator) {
+
+        dependencyTreeOperator.enhanceDirectDependencyWithPackagesAndClassesFromTransitiveDependencies(dependencyBlacklist);
+
+        countReferencedClasses(classesLocation, SymbolIndex.ofPackagesAndClassesIncludingDependencies(dependencyBlacklist));
+    }
+
+    /**
+     * This method collects all import statements recursively across all java files from an entrypoint and assigns them to the indexed
+     * dependencies. The import statements of the files are read in parallel on the common fork-join pool. The import statements are assigned
+     * in the order of the files afterwards, so the occurrences of the dependencies do not depend on the scheduling of the threads. Files which
+     * are unchanged since the previous analysis are not scanned again
+     *
+     * @param entry          Folder to scan java classes
+     * @param symbolIndex    Index of the packages and classes of the blacklisted dependencies
+     * @param importManifest Manifest of the import statements of the previous analysis or null
+     */
+    private void countImportStatements(File entry, SymbolIndex symbolIndex, ImportManifest importManifest) {
+
+        List<File> javaFiles = new ArrayList<>();
+        collectJavaFiles(entry, javaFiles);
+
+        List<List<String>> importStatementsOfFiles = javaFiles.parallelStream()
+                .map(javaFile -> readImportStatements(javaFile, importManifest))
+                .collect(Collectors.toList());
+        if (importManifest != null) {
+            importManifest.save(javaFiles);
+        }
+
+        for (int i = 0; i < javaFiles.size(); i++) {
+            count(javaFiles.get(i), importStatementsOfFiles.get(i), symbolIndex);
+        }
+    }
+
+    /**
+     * This method collects all java files recursively from an entrypoint
+     *
+     * @param entry     Folder to scan java classes
+     * @param javaFiles List to save the found java files
+     */
+    private static void collectJavaFiles(File entry, List<File> javaFiles) {
+
         File[] files = entry.listFiles();
         if (files == null) {
             AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(entry.getParent(),
                     "Can not collect import statements from this entrypoint recursively. No files found"));
             LOG.error("Can not collect import statements from this entrypoint recursively. No files found in: " + entry.getParent());
+            return;
         }
         for (File file : files) {
             if (file.isFile() && file.getName().endsWith(".java")) {
-                count(file, dependencyBlacklist);
+                javaFiles.add(file);
             } else if (file.isDirectory()) {
-                occurrenceMeasurement(file, dependencyBlacklist, dependencyTreeOperator);
+                collectJavaFiles(file, javaFiles);
             }
         }
     }
 
     /**
-     * This method searches for import statements in a source code file, tries to assign them to a project dependency and increments the occurrence
-     * counter of the associated dependency
+     * This method reads the import statements of a source code file. Safe to call from several threads
      *
-     * @param file                Java source code file
-     * @param dependencyBlacklist List of the project dependencies
+     * @param file           Java source code file
+     * @param importManifest Manifest of the import statements of the previous analysis or null
+     * @return Import statements of the file or null if the file is not readable
      */
-    private void count(File file, List<ProjectDependency> dependencyBlacklist) {
+    private static List<String> readImportStatements(File file, ImportManifest importManifest) {
 
-        JavaProjectBuilder builder = new JavaProjectBuilder();
+        List<String> importStatements = importManifest == null ? null : importManifest.getImportStatements(file);
+        if (importStatements != null) {
+            return importStatements;
+        }
         try {
-            builder.addSource(new FileReader(file));
-        } catch (FileNotFoundException e) {
+            importStatements = ImportScanner.readImportStatements(file);
+            if (importManifest != null) {
+                importManifest.put(file, importStatements);
+            }
+            return importStatements;
+        } catch (IOException e) {
             AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(file.toString(),
-                    "Can not collect import statements from file " + file + " FileNotFoundException was thrown."));
+                    "Can not collect import statements from file " + file + " " + e.getClass().getSimpleName() + " was thrown."));
             LOG.debug("Can not collect import statements from file" + file, e);
+            return null;
         }
-        Collection<JavaSource> sources = builder.getSources();
-        for (JavaSource source : sources) {
-            List<ProjectDependency> alreadyCountedForThisSource = new ArrayList<>();
-            List<String> importStatements = source.getImports();
-            totalJavaClassesScanned = totalJavaClassesScanned + 1;
-            for (String importStatement : importStatements) {
-                mapAndCount(dependencyBlacklist, alreadyCountedForThisSource, importStatement, file);
-            }
+    }
+
+    /**
+     * This method assigns the import statements of a source code file to the project dependencies and increments the occurrence counter of the
+     * associated dependencies
+     *
+     * @param file             Java source code file
+     * @param importStatements Import statements of the file or null if the file is not readable
+     * @param symbolIndex      Index of the packages and classes of the blacklisted dependencies
+     */
+    private void count(File file, List<String> importStatements, SymbolIndex symbolIndex) {
+
+        if (importStatements == null) {
+            return;
+        }
+        Map<ProjectDependency, OccurrenceInProjectClass> occurrencesOfThisSource = new IdentityHashMap<>();
+        totalJavaClassesScanned = totalJavaClassesScanned + 1;
+        for (String importStatement : importStatements) {
+            mapAndCount(symbolIndex, occurrencesOfThisSource, importStatement, file);
         }
     }
 
-    private void mapAndCount(List<ProjectDependency> dependencyBlacklist, List<ProjectDependency> alreadyCountedForThisSource,
-                                    String importStatement, File file) {
+    /**
+     * This method reads the constant pools of all class files in parallel and assigns the referenced classes to the indexed dependencies.
+     * Nested classes are counted together with their top level class, so a top level class is counted like a source file
+     *
+     * @param classesLocation Folder with the compiled classes of the project
+     * @param symbolIndex     Index of the packages and classes of the blacklisted dependencies
+     */
+    private void countReferencedClasses(File classesLocation, SymbolIndex symbolIndex) {
 
-        if (importStatement.endsWith("*")) {
-            String packageOfImportStatement = importStatement.substring(0, importStatement.length() - 2);
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(classesLocation.toPath())) {
+            classFiles = paths.filter(path -> path.toString().endsWith(".class") && !path.getFileName().toString().equals("module-info.class"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(classesLocation.toString(),
+                    "Can not collect referenced classes from the compiled classes of the project"));
+            LOG.error("Can not collect referenced classes from the compiled classes in: " + classesLocation, e);
+            return;
+        }
 
-            for (ProjectDependency projectDependency : dependencyBlacklist) {
-                if (projectDependency.getAllPossiblePackagesIncludingDependencies().contains(packageOfImportStatement)) {
-                    if (!alreadyCountedForThisSource.contains(projectDependency)) {
-                        projectDependency.getOccurrenceInProjectClasses().add(generateReason(file, importStatement));
-                        alreadyCountedForThisSource.add(projectDependency);
-                    }
-                }
+        List<ClassFileConstantPool> constantPools = classFiles.parallelStream()
+                .map(ProjectOperator::readConstantPool)
+                .collect(Collectors.toList());
+
+        Map<String, Set<String>> referencedClassesOfTopLevelClasses = new TreeMap<>();
+        for (ClassFileConstantPool constantPool : constantPools) {
+            if (constantPool == null) {
+                continue;
             }
-        } else {
-            for (ProjectDependency projectDependency : dependencyBlacklist) {
-                if (projectDependency.getAllPossibleClassesIncludingDependencies().contains(importStatement)) {
-                    if (!alreadyCountedForThisSource.contains(projectDependency)) {
-                        projectDependency.getOccurrenceInProjectClasses().add(generateReason(file, importStatement));
-                        alreadyCountedForThisSource.add(projectDependency);
-                    } else {
-                        projectDependency.setOccurrenceInProjectClasses(enhanceReason(projectDependency.getOccurrenceInProjectClasses(), importStatement));
-                    }
+            String topLevelClass = getTopLevelClassName(constantPool.getClassName());
+            Set<String> referencedClasses = referencedClassesOfTopLevelClasses.computeIfAbsent(topLevelClass, key -> new TreeSet<>());
+            for (String referencedClass : constantPool.getReferencedClassNames()) {
+                //The classes of the dependencies are indexed without nested classes
+                String topLevelReferencedClass = getTopLevelClassName(referencedClass);
+                if (!topLevelReferencedClass.equals(topLevelClass)) {
+                    referencedClasses.add(topLevelReferencedClass);
                 }
             }
         }
-    }
 
-    private String generateReason(File file, String importStatement) {
+        referencedClassesOfTopLevelClasses.forEach((topLevelClass, referencedClasses) -> {
+            Map<ProjectDependency, OccurrenceInProjectClass> occurrencesOfThisClass = new IdentityHashMap<>();
+            totalJavaClassesScanned = totalJavaClassesScanned + 1;
+            File classFile = new File(topLevelClass.substring(topLevelClass.lastIndexOf('.') + 1) + ".class");
+            for (String referencedClass : referencedClasses) {
+                mapAndCount(symbolIndex, occurrencesOfThisClass, referencedClass, classFile);
+            }
+        });
+    }
 
-        String filename = file.toString();
-        String reason;
+    /**
+     * This method reads the constant pool of a class file. Safe to call from several threads
+     *
+     * @param classFile Class file
+     * @return The constant pool or null if the class file is not readable
+     */
+    private static ClassFileConstantPool readConstantPool(Path classFile) {
 
-        int indexOfLastSlash = filename.lastIndexOf("/");
-        if (indexOfLastSlash == -1) {
-            int indexOfLastBackslash = filename.lastIndexOf("\\");
-            reason = "<strong>" + filename.substring(indexOfLastBackslash + 1) + ":</strong> " + importStatement;
-        } else {
-            reason = "<strong>" + filename.substring(indexOfLastSlash + 1) + ":</strong> " + importStatement;
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(classFile))) {
+            return ClassFileConstantPool.readWithDescriptors(inputStream);
+        } catch (IOException e) {
+            AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(classFile.toString(),
+                    "Can not collect referenced classes from class file " + classFile + " " + e.getClass().getSimpleName() + " was thrown."));
+            LOG.debug("Can not collect referenced classes from class file " + classFile, e);
+            return null;
         }
+    }
+
+    private static String getTopLevelClassName(String className) {
 
-        return reason;
+        int indexOfDollar = className.indexOf('$');
+        return indexOfDollar == -1 ? className : className.substring(0, indexOfDollar);
     }
 
-    private List<String> enhanceReason(List<String> occurrenceInProjectClasses, String importStatement) {
+    /**
+     * This method assigns an import statement or a referenced class to the dependencies which contain it. Every dependency is counted once per
+     * source, further matches are added to the occurrence of the source
+     *
+     * @param symbolIndex             Index of the packages and classes of the blacklisted dependencies
+     * @param occurrencesOfThisSource Occurrences of the dependencies which were already counted for the source
+     * @param importStatement         Import statement or referenced class
+     * @param file                    Source code file or class file
+     */
+    private void mapAndCount(SymbolIndex symbolIndex, Map<ProjectDependency, OccurrenceInProjectClass> occurrencesOfThisSource,
+                             String importStatement, File file) {
 
-        List<String> enhancedOccurrenceInProjectClasses = new ArrayList<>();
-        occurrenceInProjectClasses.forEach(occurrence -> {
-            if (occurrence.contains(importStatement)) {
-                enhancedOccurrenceInProjectClasses.add(occurrence);
-            } else {
-                enhancedOccurrenceInProjectClasses.add(occurrence + ", " + importStatement);
+        List<ProjectDependency> owners = importStatement.endsWith("*") ?
+                symbolIndex.getOwnersOfPackage(importStatement.substring(0, importStatement.length() - 2)) :
+                symbolIndex.getOwnersOfClass(importStatement);
+        for (ProjectDependency projectDependency : owners) {
+            OccurrenceInProjectClass occurrence = occurrencesOfThisSource.get(projectDependency);
+            if (occurrence == null) {
+                occurrence = new OccurrenceInProjectClass(file.getName());
+                projectDependency.getOccurrenceInProjectClasses().add(occurrence);
+                occurrencesOfThisSource.put(projectDependency, occurrence);
             }
-        });
-        return enhancedOccurrenceInProjectClasses;
+            occurrence.addMatch(importStatement);
+        }
     }
 
     public Integer getTotalJavaClassesScanned() {
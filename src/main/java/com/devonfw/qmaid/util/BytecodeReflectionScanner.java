@@ -0,0 +1,82 @@
+package com.devonfw.qmaid.util;
+
+import com.devonfw.qmaid.collector.AnalysisFailureCollector;
+import com.devonfw.qmaid.model.AnalysisFailureEntry;
+import com.devonfw.qmaid.model.ReflectionUsageInDependencies;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Detects reflection usage in libraries by reading the constant pools of the compiled classes. This replaces the MTA rule
+ * reflection-detection-0000 for libraries without starting MTA
+ */
+public class BytecodeReflectionScanner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BytecodeReflectionScanner.class);
+
+    private static final String REFLECTION_PACKAGE = "java/lang/reflect/";
+
+    /**
+     * This method scans the given libraries in parallel for classes which reference the java.lang.reflect package
+     *
+     * @param libraryLocations Paths to the jar files which should be analyzed
+     * @return Reflection usage of all libraries with at least one finding in the order of the given libraries
+     */
+    public static List<ReflectionUsageInDependencies> scanLibraries(List<File> libraryLocations) {
+
+        LOG.info("Analyze reflection usage in " + libraryLocations.size() + " project dependencies by reading the class files");
+        return libraryLocations.parallelStream()
+                .map(BytecodeReflectionScanner::scanLibrary)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * This method scans all classes of a library in parallel for references to the java.lang.reflect package
+     *
+     * @param libraryLocation Path to the jar file which should be analyzed
+     * @return Reflection usage of the library or null if no class uses reflection
+     */
+    private static ReflectionUsageInDependencies scanLibrary(File libraryLocation) {
+
+        try (ZipFile zipFile = new ZipFile(libraryLocation)) {
+            List<String> classes = zipFile.stream()
+                    .parallel()
+                    .filter(entry -> !entry.isDirectory() && entry.getName().endsWith(".class") && !entry.getName().endsWith("module-info.class"))
+                    .map(entry -> getClassNameIfReflectionIsUsed(zipFile, entry))
+                    .filter(Objects::nonNull)
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+            if (classes.isEmpty()) {
+                return null;
+            }
+            return new ReflectionUsageInDependencies(libraryLocation.getName(), classes);
+        } catch (IOException e) {
+            AnalysisFailureCollector.addAnalysisFailure(
+                    new AnalysisFailureEntry(libraryLocation.toString(), "Bytecode reflection analysis failed."));
+            LOG.debug("Bytecode reflection analysis failed for " + libraryLocation, e);
+            return null;
+        }
+    }
+
+    private static String getClassNameIfReflectionIsUsed(ZipFile zipFile, ZipEntry entry) {
+
+        try (InputStream inputStream = zipFile.getInputStream(entry)) {
+            ClassFileConstantPool constantPool = ClassFileConstantPool.read(inputStream);
+            return constantPool.containsUtf8EntryWith(REFLECTION_PACKAGE) ? constantPool.getClassName() : null;
+        } catch (IOException e) {
+            LOG.debug("Could not read class file " + entry.getName() + " of " + zipFile.getName(), e);
+            return null;
+        }
+    }
+}
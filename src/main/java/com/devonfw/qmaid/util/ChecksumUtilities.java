@@ -0,0 +1,99 @@
+package com.devonfw.qmaid.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Utility class to calculate checksums of files and directories
+ */
+public class ChecksumUtilities {
+
+    /**
+     * This method calculates the SHA-256 checksum of the content of a file
+     *
+     * @param file File to hash
+     * @return Checksum as hex string
+     * @throws IOException If the file is not readable
+     */
+    public static String sha256(File file) throws IOException {
+
+        MessageDigest messageDigest = newMessageDigest();
+        updateDigest(messageDigest, file.toPath());
+        return toHex(messageDigest.digest());
+    }
+
+    /**
+     * This method calculates the SHA-256 checksum of a text
+     *
+     * @param text Text to hash
+     * @return Checksum as hex string
+     */
+    public static String sha256(String text) {
+
+        return toHex(newMessageDigest().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * This method calculates a SHA-256 checksum over the relative paths and the contents of all files in the given directories. The checksum
+     * changes as soon as a file is added, removed, renamed or modified
+     *
+     * @param directories Directories to hash
+     * @return Checksum as hex string
+     * @throws IOException If a file is not readable
+     */
+    public static String sha256OfDirectories(List<File> directories) throws IOException {
+
+        MessageDigest messageDigest = newMessageDigest();
+        for (File directory : directories) {
+            Path root = directory.toPath();
+            List<Path> files;
+            try (Stream<Path> paths = Files.walk(root)) {
+                files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                messageDigest.update(root.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                updateDigest(messageDigest, file);
+            }
+        }
+        return toHex(messageDigest.digest());
+    }
+
+    private static void updateDigest(MessageDigest messageDigest, Path file) throws IOException {
+
+        byte[] buffer = new byte[65536];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    private static MessageDigest newMessageDigest() {
+
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            //Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
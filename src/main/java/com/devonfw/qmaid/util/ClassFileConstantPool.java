@@ -0,0 +1,525 @@
+package com.devonfw.qmaid.util;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reads the constant pool of a compiled Java class. Only the constant pool is read, so no Java source or bytecode library is needed. On
+ * request, the descriptors and signatures of the class are collected as well, i.e. the strings of the constant pool which describe types
+ */
+public class ClassFileConstantPool {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private final String className;
+    private final List<String> utf8Entries;
+    private final List<String> classEntries;
+    private final List<String> descriptors;
+
+    private ClassFileConstantPool(String className, List<String> utf8Entries, List<String> classEntries, List<String> descriptors) {
+
+        this.className = className;
+        this.utf8Entries = utf8Entries;
+        this.classEntries = classEntries;
+        this.descriptors = descriptors;
+    }
+
+    /**
+     * This method reads the constant pool and the name of a class file
+     *
+     * @param inputStream Content of the class file. The stream is not closed
+     * @return The constant pool of the class
+     * @throws IOException If the stream is not readable or does not contain a class file
+     */
+    public static ClassFileConstantPool read(InputStream inputStream) throws IOException {
+        return read(inputStream, false);
+    }
+
+    /**
+     * This method reads the constant pool, the name and the descriptors and signatures of a class file. The whole class file is read
+     *
+     * @param inputStream Content of the class file. The stream is not closed
+     * @return The constant pool of the class
+     * @throws IOException If the stream is not readable or does not contain a class file
+     */
+    public static ClassFileConstantPool readWithDescriptors(InputStream inputStream) throws IOException {
+        return read(inputStream, true);
+    }
+
+    private static ClassFileConstantPool read(InputStream inputStream, boolean withDescriptors) throws IOException {
+
+        DataInputStream data = new DataInputStream(inputStream);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        data.readUnsignedShort(); //minor version
+        data.readUnsignedShort(); //major version
+
+        int constantPoolCount = data.readUnsignedShort();
+        String[] utf8 = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+        List<Integer> classIndexes = new ArrayList<>();
+        Set<Integer> descriptorIndexes = new TreeSet<>();
+
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = data.readUnsignedByte();
+            switch (tag) {
+                case 1: //Utf8
+                    utf8[i] = data.readUTF();
+                    break;
+                case 7: //Class
+                    classNameIndexes[i] = data.readUnsignedShort();
+                    classIndexes.add(i);
+                    break;
+                case 16: //MethodType
+                    descriptorIndexes.add(data.readUnsignedShort());
+                    break;
+                case 8: //String
+                case 19: //Module
+                case 20: //Package
+                    data.skipBytes(2);
+                    break;
+                case 15: //MethodHandle
+                    data.skipBytes(3);
+                    break;
+                case 3: //Integer
+                case 4: //Float
+                case 9: //Fieldref
+                case 10: //Methodref
+                case 11: //InterfaceMethodref
+                case 17: //Dynamic
+                case 18: //InvokeDynamic
+                    data.skipBytes(4);
+                    break;
+                case 12: //NameAndType
+                    data.skipBytes(2);
+                    descriptorIndexes.add(data.readUnsignedShort());
+                    break;
+                case 5: //Long
+                case 6: //Double
+                    data.skipBytes(8);
+                    //Long and double constants take two entries
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        data.readUnsignedShort(); //access flags
+        int thisClassIndex = data.readUnsignedShort();
+
+        List<String> utf8Entries = new ArrayList<>();
+        for (String entry : utf8) {
+            if (entry != null) {
+                utf8Entries.add(entry);
+            }
+        }
+        List<String> classEntries = new ArrayList<>();
+        for (int classIndex : classIndexes) {
+            classEntries.add(utf8[classNameIndexes[classIndex]]);
+        }
+        String className = utf8[classNameIndexes[thisClassIndex]].replace('/', '.');
+
+        List<String> descriptors = null;
+        if (withDescriptors) {
+            readDescriptorsOfMembersAndAttributes(data, utf8, descriptorIndexes);
+            descriptors = new ArrayList<>();
+            for (int descriptorIndex : descriptorIndexes) {
+                if (descriptorIndex < utf8.length && utf8[descriptorIndex] != null) {
+                    descriptors.add(utf8[descriptorIndex]);
+                }
+            }
+        }
+
+        return new ClassFileConstantPool(className, utf8Entries, classEntries, descriptors);
+    }
+
+    private static void readDescriptorsOfMembersAndAttributes(DataInputStream data, String[] utf8, Set<Integer> descriptorIndexes)
+            throws IOException {
+
+        data.readUnsignedShort(); //super class
+        skip(data, 2 * data.readUnsignedShort()); //interfaces
+        for (int member = 0, numberOfMembers = data.readUnsignedShort(); member < numberOfMembers; member++) {
+            readDescriptorOfMember(data, utf8, descriptorIndexes);
+        }
+        for (int member = 0, numberOfMembers = data.readUnsignedShort(); member < numberOfMembers; member++) {
+            readDescriptorOfMember(data, utf8, descriptorIndexes);
+        }
+        readDescriptorsOfAttributes(data, utf8, descriptorIndexes);
+    }
+
+    private static void readDescriptorOfMember(DataInputStream data, String[] utf8, Set<Integer> descriptorIndexes) throws IOException {
+
+        skip(data, 4); //access flags and name
+        descriptorIndexes.add(data.readUnsignedShort());
+        readDescriptorsOfAttributes(data, utf8, descriptorIndexes);
+    }
+
+    /**
+     * This method reads the attributes which refer to descriptors or signatures, e.g. local variables and annotations. Other attributes are
+     * skipped
+     */
+    private static void readDescriptorsOfAttributes(DataInputStream data, String[] utf8, Set<Integer> descriptorIndexes) throws IOException {
+
+        for (int attribute = 0, numberOfAttributes = data.readUnsignedShort(); attribute < numberOfAttributes; attribute++) {
+            int nameIndex = data.readUnsignedShort();
+            String name = nameIndex < utf8.length && utf8[nameIndex] != null ? utf8[nameIndex] : "";
+            int length = data.readInt();
+            switch (name) {
+                case "Signature":
+                    descriptorIndexes.add(data.readUnsignedShort());
+                    break;
+                case "Code":
+                    skip(data, 4); //max stack and max locals
+                    skip(data, data.readInt()); //code
+                    skip(data, 8 * data.readUnsignedShort()); //exception table
+                    readDescriptorsOfAttributes(data, utf8, descriptorIndexes);
+                    break;
+                case "LocalVariableTable":
+                case "LocalVariableTypeTable":
+                    for (int variable = 0, numberOfVariables = data.readUnsignedShort(); variable < numberOfVariables; variable++) {
+                        skip(data, 6); //start, length and name
+                        descriptorIndexes.add(data.readUnsignedShort());
+                        skip(data, 2); //index
+                    }
+                    break;
+                case "RuntimeVisibleAnnotations":
+                case "RuntimeInvisibleAnnotations":
+                    readDescriptorsOfAnnotations(data, descriptorIndexes);
+                    break;
+                case "RuntimeVisibleParameterAnnotations":
+                case "RuntimeInvisibleParameterAnnotations":
+                    for (int parameter = 0, numberOfParameters = data.readUnsignedByte(); parameter < numberOfParameters; parameter++) {
+                        readDescriptorsOfAnnotations(data, descriptorIndexes);
+                    }
+                    break;
+                case "RuntimeVisibleTypeAnnotations":
+                case "RuntimeInvisibleTypeAnnotations":
+                    for (int annotation = 0, numberOfAnnotations = data.readUnsignedShort(); annotation < numberOfAnnotations; annotation++) {
+                        skipTargetOfTypeAnnotation(data);
+                        readDescriptorsOfAnnotation(data, descriptorIndexes);
+                    }
+                    break;
+                case "AnnotationDefault":
+                    readDescriptorsOfElementValue(data, descriptorIndexes);
+                    break;
+                case "Record":
+                    for (int component = 0, numberOfComponents = data.readUnsignedShort(); component < numberOfComponents; component++) {
+                        skip(data, 2); //name
+                        descriptorIndexes.add(data.readUnsignedShort());
+                        readDescriptorsOfAttributes(data, utf8, descriptorIndexes);
+                    }
+                    break;
+                default:
+                    skip(data, length);
+            }
+        }
+    }
+
+    private static void readDescriptorsOfAnnotations(DataInputStream data, Set<Integer> descriptorIndexes) throws IOException {
+
+        for (int annotation = 0, numberOfAnnotations = data.readUnsignedShort(); annotation < numberOfAnnotations; annotation++) {
+            readDescriptorsOfAnnotation(data, descriptorIndexes);
+        }
+    }
+
+    private static void readDescriptorsOfAnnotation(DataInputStream data, Set<Integer> descriptorIndexes) throws IOException {
+
+        descriptorIndexes.add(data.readUnsignedShort()); //type
+        for (int pair = 0, numberOfPairs = data.readUnsignedShort(); pair < numberOfPairs; pair++) {
+            data.readUnsignedShort(); //element name
+            readDescriptorsOfElementValue(data, descriptorIndexes);
+        }
+    }
+
+    private static void readDescriptorsOfElementValue(DataInputStream data, Set<Integer> descriptorIndexes) throws IOException {
+
+        int tag = data.readUnsignedByte();
+        switch (tag) {
+            case 'e': //Enum constant
+                descriptorIndexes.add(data.readUnsignedShort());
+                data.readUnsignedShort();
+                break;
+            case 'c': //Class literal
+                descriptorIndexes.add(data.readUnsignedShort());
+                break;
+            case '@':
+                readDescriptorsOfAnnotation(data, descriptorIndexes);
+                break;
+            case '[':
+                for (int value = 0, numberOfValues = data.readUnsignedShort(); value < numberOfValues; value++) {
+                    readDescriptorsOfElementValue(data, descriptorIndexes);
+                }
+                break;
+            default: //Constant
+                data.readUnsignedShort();
+        }
+    }
+
+    private static void skipTargetOfTypeAnnotation(DataInputStream data) throws IOException {
+
+        int targetType = data.readUnsignedByte();
+        switch (targetType) {
+            case 0x00: //Type parameter
+            case 0x01:
+            case 0x16: //Formal parameter
+                skip(data, 1);
+                break;
+            case 0x10: //Supertype
+            case 0x11: //Type parameter bound
+            case 0x12:
+            case 0x17: //Throws
+            case 0x42: //Catch
+            case 0x43: //Instanceof, new and method references
+            case 0x44:
+            case 0x45:
+            case 0x46:
+                skip(data, 2);
+                break;
+            case 0x13: //Field, return type and receiver
+            case 0x14:
+            case 0x15:
+                break;
+            case 0x40: //Local variable
+            case 0x41:
+                skip(data, 6 * data.readUnsignedShort());
+                break;
+            case 0x47: //Cast and type arguments
+            case 0x48:
+            case 0x49:
+            case 0x4A:
+            case 0x4B:
+                skip(data, 3);
+                break;
+            default:
+                throw new IOException("Unknown target type of type annotation " + targetType);
+        }
+        skip(data, 2 * data.readUnsignedByte()); //type path
+    }
+
+    private static void skip(DataInputStream data, int length) throws IOException {
+
+        int skipped = 0;
+        while (skipped < length) {
+            int skippedBytes = data.skipBytes(length - skipped);
+            if (skippedBytes == 0) {
+                //Throws an EOFException at the end of the stream
+                data.readByte();
+                skippedBytes = 1;
+            }
+            skipped += skippedBytes;
+        }
+    }
+
+    /**
+     * @return Fully qualified name of the class
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return All strings of the constant pool. These include class names, member names, descriptors and string literals
+     */
+    public List<String> getUtf8Entries() {
+        return utf8Entries;
+    }
+
+    /**
+     * This method checks if any string of the constant pool contains the given value
+     *
+     * @param value Value to search, e.g. an internal package name like java/lang/reflect/
+     * @return True if the value is found
+     */
+    public boolean containsUtf8EntryWith(String value) {
+
+        for (String utf8Entry : utf8Entries) {
+            if (utf8Entry.contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method collects the fully qualified names of all classes referenced by the class. These are the classes of the constant pool and the
+     * types of the descriptors and signatures, e.g. of fields, methods, local variables and annotations. String literals are not considered
+     *
+     * @return Sorted fully qualified names of the referenced classes
+     * @throws IllegalStateException If the class file was read without descriptors
+     */
+    public Set<String> getReferencedClassNames() {
+
+        if (descriptors == null) {
+            throw new IllegalStateException("The descriptors of " + className + " were not read");
+        }
+        Set<String> referencedClassNames = new TreeSet<>();
+        for (String classEntry : classEntries) {
+            if (classEntry.startsWith("[")) {
+                addTypesOfSignature(classEntry, referencedClassNames);
+            } else {
+                referencedClassNames.add(classEntry.replace('/', '.'));
+            }
+        }
+        for (String descriptor : descriptors) {
+            addTypesOfSignature(descriptor, referencedClassNames);
+        }
+        referencedClassNames.remove(className);
+        return referencedClassNames;
+    }
+
+    /**
+     * This method adds the classes of a descriptor or a signature. Descriptors and signatures which can not be parsed are skipped
+     */
+    private static void addTypesOfSignature(String signature, Set<String> referencedClassNames) {
+
+        SignatureParser signatureParser = new SignatureParser(signature);
+        try {
+            signatureParser.parse();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return;
+        }
+        referencedClassNames.addAll(signatureParser.classNames);
+    }
+
+    /**
+     * Parser for descriptors and generic signatures of classes, fields and methods, e.g. "(Ljava/util/List<+Lcom/example/Type;>;I)V"
+     */
+    private static class SignatureParser {
+
+        private final String signature;
+        private final List<String> classNames = new ArrayList<>();
+        private int position;
+
+        private SignatureParser(String signature) {
+
+            this.signature = signature;
+        }
+
+        private void parse() {
+
+            if (signature.isEmpty()) {
+                throw new IllegalArgumentException("Empty signature");
+            }
+            if (signature.charAt(0) == '<') {
+                parseTypeParameters();
+            }
+            while (position < signature.length()) {
+                char character = signature.charAt(position);
+                if (character == '(' || character == ')' || character == '^') {
+                    position++;
+                } else {
+                    parseType();
+                }
+            }
+        }
+
+        private void parseTypeParameters() {
+
+            position++;
+            while (signature.charAt(position) != '>') {
+                position = indexOf(':', position);
+                //Bounds, the class bound can be empty
+                while (signature.charAt(position) == ':') {
+                    position++;
+                    char character = signature.charAt(position);
+                    if (character == 'L' || character == 'T' || character == '[') {
+                        parseType();
+                    }
+                }
+            }
+            position++;
+        }
+
+        private void parseType() {
+
+            char character = signature.charAt(position++);
+            switch (character) {
+                case 'B':
+                case 'C':
+                case 'D':
+                case 'F':
+                case 'I':
+                case 'J':
+                case 'S':
+                case 'Z':
+                case 'V':
+                    break;
+                case '[':
+                    parseType();
+                    break;
+                case 'T': //Type variable
+                    position = indexOf(';', position) + 1;
+                    break;
+                case 'L':
+                    parseClassType();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unexpected character " + character + " in " + signature);
+            }
+        }
+
+        private void parseClassType() {
+
+            int end = endOfIdentifier(position);
+            classNames.add(signature.substring(position, end).replace('/', '.'));
+            position = end;
+            while (true) {
+                char character = signature.charAt(position++);
+                if (character == ';') {
+                    return;
+                } else if (character == '<') {
+                    parseTypeArguments();
+                } else if (character == '.') {
+                    //Nested class of a generic class, it belongs to the outer class
+                    position = endOfIdentifier(position);
+                } else {
+                    throw new IllegalArgumentException("Unexpected character " + character + " in " + signature);
+                }
+            }
+        }
+
+        private void parseTypeArguments() {
+
+            while (signature.charAt(position) != '>') {
+                char character = signature.charAt(position);
+                if (character == '*') {
+                    position++;
+                    continue;
+                }
+                if (character == '+' || character == '-') {
+                    position++;
+                }
+                parseType();
+            }
+            position++;
+        }
+
+        private int endOfIdentifier(int start) {
+
+            int end = start;
+            while (";<.>:".indexOf(signature.charAt(end)) == -1) {
+                end++;
+            }
+            if (end == start) {
+                throw new IllegalArgumentException("Missing identifier in " + signature);
+            }
+            return end;
+        }
+
+        private int indexOf(char character, int start) {
+
+            int index = signature.indexOf(character, start);
+            if (index == -1) {
+                throw new IllegalArgumentException("Missing " + character + " in " + signature);
+            }
+            return index;
+        }
+    }
+}
@@ -2,10 +2,14 @@ package com.devonfw.qmaid.util;
 
 import com.devonfw.qmaid.collector.AnalysisFailureCollector;
 import com.devonfw.qmaid.model.AnalysisFailureEntry;
+import com.devonfw.qmaid.model.MtaRecord;
 import com.opencsv.CSVParser;
 import com.opencsv.CSVParserBuilder;
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
+import com.opencsv.CSVWriterBuilder;
+import com.opencsv.ICSVWriter;
+import com.opencsv.RFC4180ParserBuilder;
 import com.opencsv.exceptions.CsvValidationException;
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
@@ -14,11 +18,15 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Utility class to parse CSV files
@@ -27,54 +35,122 @@ public class CsvParser {
 
     private static final Logger LOG = LoggerFactory.getLogger(CsvParser.class);
 
+    private static final Set<String> RELEVANT_CATEGORIES =
+            Set.of(MtaRecord.CATEGORY_MANDATORY, MtaRecord.CATEGORY_REFLECTION, MtaRecord.CATEGORY_CONFIGURATION);
+
     /**
-     * This method parses the CSV file generated by MTA in the first step, filters it and converts it to a list
+     * This method parses the CSV file generated by MTA, filters it and passes each relevant entry to the consumers. The file is read
+     * line by line, so the entries are never held in memory at once
      *
      * @param resultFolderLocation Path to the directory where the results will be saved
-     * @return List with incompatible dependencies
+     * @param recordConsumers      Receive the mandatory, reflection and configuration entries in the order of the CSV file
      */
-    public static List<List<String>> parseCSV(File resultFolderLocation) {
+    @SafeVarargs
+    public static void parseCSV(File resultFolderLocation, Consumer<MtaRecord>... recordConsumers) {
 
         Path csvFile = Path.of(resultFolderLocation + File.separator + "AllIssues.csv");
-        List<List<String>> records = new ArrayList<>();
-
-        try {
-            //Configure CSV parser
-            Reader reader = Files.newBufferedReader(csvFile);
 
-            CSVParser parser = new CSVParserBuilder()
-                    .withSeparator(',')
-                    .withEscapeChar('%')
-                    .withIgnoreQuotations(true)
-                    .build();
+        //Configure CSV parser
+        CSVParser parser = new CSVParserBuilder()
+                .withSeparator(',')
+                .withEscapeChar('%')
+                .withIgnoreQuotations(true)
+                .build();
 
-            CSVReader csvReader = new CSVReaderBuilder(reader)
-                    .withSkipLines(1)
-                    .withCSVParser(parser)
-                    .build();
+        try (Reader reader = Files.newBufferedReader(csvFile);
+             CSVReader csvReader = new CSVReaderBuilder(reader)
+                     .withSkipLines(1)
+                     .withCSVParser(parser)
+                     .build()) {
 
-            //Save mandatory issues of csv file in list
+            //Pass mandatory, reflection and configuration issues of csv file to the consumers
             String[] values;
             while ((values = csvReader.readNext()) != null) {
-                if (Arrays.asList(values).contains("mandatory") || Arrays.asList(values).contains("reflection") || Arrays.asList(values)
-                        .contains("configuration")) {
-                    records.add(Arrays.asList(values));
+                if (values.length > 1 && RELEVANT_CATEGORIES.contains(values[1])) {
+                    MtaRecord mtaRecord = toMtaRecord(values);
+                    for (Consumer<MtaRecord> recordConsumer : recordConsumers) {
+                        recordConsumer.accept(mtaRecord);
+                    }
                 }
             }
+        } catch (IOException e) {
+            AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(csvFile.toString(), "The CSV file could not be read."));
+            LOG.debug("Could not read csv file", e);
+        } catch (CsvValidationException e) {
+            AnalysisFailureCollector.addAnalysisFailure(
+                    new AnalysisFailureEntry("", "Not all csv entries could be parsed"));
+            LOG.debug("Could not read entry of csv file", e);
+        }
 
-            //Delete MTA files after parsing
+        //Delete MTA files after parsing
+        try {
             FileUtils.cleanDirectory(resultFolderLocation);
-
         } catch (IOException e) {
             AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(resultFolderLocation.toString(),
                     "The directory could not be cleaned after parsing the CSV file. This could lead to the interference of further analysis."));
             LOG.debug("Could not clean directory after parsing", e);
-        } catch (CsvValidationException e) {
-            AnalysisFailureCollector.addAnalysisFailure(
-                    new AnalysisFailureEntry("", "Not all csv entries could be parsed"));
-            LOG.debug("Could not read entry of csv file", e);
+        }
+    }
+
+    private static MtaRecord toMtaRecord(String[] values) {
+
+        return new MtaRecord(getValue(values, 0), getValue(values, 1), getValue(values, 2), getValue(values, 6), getValue(values, 7),
+                getValue(values, 10));
+    }
+
+    private static String getValue(String[] values, int index) {
+        return index < values.length ? values[index] : "";
+    }
+
+    /**
+     * This method splits the output of a MTA execution with several libraries into the output of each library. The assignment is based on the
+     * jar file column of the CSV file. If only one library was analyzed, all entries belong to it
+     *
+     * @param mtaRecords               Output from CSV parser
+     * @param libraryLocations         Paths to the analyzed jar files. The jar file names must be unique
+     * @param unassignedRecordConsumer Receives the entries which can not be assigned to a library
+     * @return Output from CSV parser for each library in the order of the given libraries
+     */
+    public static Map<File, List<MtaRecord>> splitByJarFile(List<MtaRecord> mtaRecords, List<File> libraryLocations,
+                                                            Consumer<MtaRecord> unassignedRecordConsumer) {
+
+        Map<File, List<MtaRecord>> recordsByLibrary = new LinkedHashMap<>();
+        Map<String, File> libraryLocationsByJarFile = new LinkedHashMap<>();
+        for (File libraryLocation : libraryLocations) {
+            recordsByLibrary.put(libraryLocation, new ArrayList<>());
+            libraryLocationsByJarFile.put(libraryLocation.getName(), libraryLocation);
+        }
+
+        for (MtaRecord mtaRecord : mtaRecords) {
+            File libraryLocation = libraryLocations.size() == 1 ? libraryLocations.get(0) : libraryLocationsByJarFile.get(mtaRecord.getJarFile());
+            if (libraryLocation == null) {
+                unassignedRecordConsumer.accept(mtaRecord);
+            } else {
+                recordsByLibrary.get(libraryLocation).add(mtaRecord);
+            }
         }
 
-        return records;
+        return recordsByLibrary;
+    }
+
+    /**
+     * This method creates a reader for the CSV files which are written with {@link #createWriter(Writer)}. Both follow RFC 4180, so
+     * backslashes, quotes and line breaks in the values are read back unchanged
+     *
+     * @param reader Content of the CSV file
+     * @return CSV reader
+     */
+    public static CSVReader createReader(Reader reader) {
+        return new CSVReaderBuilder(reader).withCSVParser(new RFC4180ParserBuilder().build()).build();
+    }
+
+    /**
+     * This method creates a writer for CSV files which are read with {@link #createReader(Reader)}
+     *
+     * @param writer Target of the CSV file
+     * @return CSV writer
+     */
+    public static ICSVWriter createWriter(Writer writer) {
+        return new CSVWriterBuilder(writer).withParser(new RFC4180ParserBuilder().build()).build();
     }
 }
@@ -0,0 +1,278 @@
+package com.devonfw.qmaid.util;
+
+import com.devonfw.qmaid.model.ProjectDependency;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.DependencyNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the dependency tree by groupId:artifactId:version. It is built once after the dependency tree is collected and answers lookups of
+ * nodes, ProjectDependency objects, parents and children without walking the tree. If an artifact occurs several times in the tree, its
+ * root node is indexed, otherwise its first occurrence in depth-first order. Every artifact also gets an int id, so the transitive
+ * dependencies of an artifact are stored as a bitset of ids. The bitsets of all artifacts are computed once on first use
+ */
+public class DependencyGraphIndex {
+
+    private final Map<String, DependencyNode> rootNodes = new HashMap<>();
+    private final Map<String, DependencyNode> nodes = new HashMap<>();
+    private final Map<String, ProjectDependency> projectDependenciesByGav = new HashMap<>();
+    private final Map<String, Set<String>> parents = new HashMap<>();
+
+    //Artifacts by id and the ids of the children of all their nodes
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> gavsById = new ArrayList<>();
+    private final List<Set<Integer>> childrenById = new ArrayList<>();
+    private BitSet[] transitiveDependenciesById;
+
+    /**
+     * @param dependencyTreeRootNodes Root nodes of the dependency tree
+     * @param projectDependencies     ProjectDependency objects of all artifacts of the tree
+     */
+    public DependencyGraphIndex(List<DependencyNode> dependencyTreeRootNodes, List<ProjectDependency> projectDependencies) {
+
+        for (DependencyNode rootNode : dependencyTreeRootNodes) {
+            rootNodes.putIfAbsent(getGav(rootNode.getArtifact()), rootNode);
+        }
+        nodes.putAll(rootNodes);
+        for (DependencyNode rootNode : dependencyTreeRootNodes) {
+            indexBranch(rootNode);
+        }
+        for (ProjectDependency projectDependency : projectDependencies) {
+            projectDependenciesByGav.putIfAbsent(getGav(projectDependency), projectDependency);
+        }
+    }
+
+    /**
+     * This method indexes a branch of the tree in depth-first order. An explicit stack is used, so deep trees do not overflow the call stack
+     */
+    private void indexBranch(DependencyNode branchRootNode) {
+
+        Deque<DependencyNode> stack = new ArrayDeque<>();
+        stack.push(branchRootNode);
+        while (!stack.isEmpty()) {
+            DependencyNode node = stack.pop();
+            String gav = getGav(node.getArtifact());
+            nodes.putIfAbsent(gav, node);
+            int id = getOrCreateId(gav);
+
+            List<DependencyNode> children = node.getChildren();
+            for (DependencyNode child : children) {
+                String gavOfChild = getGav(child.getArtifact());
+                parents.computeIfAbsent(gavOfChild, key -> new LinkedHashSet<>()).add(gav);
+                childrenById.get(id).add(getOrCreateId(gavOfChild));
+            }
+            //Pushed in reverse order, so the children are visited in the order of the tree
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+    }
+
+    private int getOrCreateId(String gav) {
+
+        Integer id = ids.get(gav);
+        if (id == null) {
+            id = gavsById.size();
+            ids.put(gav, id);
+            gavsById.add(gav);
+            childrenById.add(new LinkedHashSet<>());
+        }
+        return id;
+    }
+
+    /**
+     * @param artifact Artifact
+     * @return groupId:artifactId:version of the artifact
+     */
+    public static String getGav(Artifact artifact) {
+        return artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion();
+    }
+
+    /**
+     * @param projectDependency Dependency
+     * @return groupId:artifactId:version of the dependency
+     */
+    public static String getGav(ProjectDependency projectDependency) {
+        return projectDependency.getGroupId() + ":" + projectDependency.getArtifactId() + ":" + projectDependency.getVersion();
+    }
+
+    /**
+     * @param gav groupId:artifactId:version
+     * @return The root node of the artifact or null if the artifact is not a root node of the tree
+     */
+    public DependencyNode getRootNode(String gav) {
+        return rootNodes.get(gav);
+    }
+
+    /**
+     * @param gav groupId:artifactId:version
+     * @return The root node of the artifact, otherwise its first node in the tree or null if the tree does not contain the artifact
+     */
+    public DependencyNode getNode(String gav) {
+        return nodes.get(gav);
+    }
+
+    /**
+     * @param gav groupId:artifactId:version
+     * @return The ProjectDependency object of the artifact or null if the jar file of the artifact was not found
+     */
+    public ProjectDependency getProjectDependency(String gav) {
+        return projectDependenciesByGav.get(gav);
+    }
+
+    /**
+     * This method returns the direct dependencies of the indexed node of an artifact
+     *
+     * @param gav groupId:artifactId:version
+     * @return ProjectDependency objects of the children in the order of the tree. Children without jar file are skipped
+     */
+    public List<ProjectDependency> getChildren(String gav) {
+
+        DependencyNode node = nodes.get(gav);
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        List<ProjectDependency> children = new ArrayList<>();
+        for (DependencyNode child : node.getChildren()) {
+            ProjectDependency projectDependency = projectDependenciesByGav.get(getGav(child.getArtifact()));
+            if (projectDependency != null) {
+                children.add(projectDependency);
+            }
+        }
+        return children;
+    }
+
+    /**
+     * This method returns the artifacts which depend on an artifact anywhere in the tree
+     *
+     * @param gav groupId:artifactId:version
+     * @return groupId:artifactId:version of the parents in the order of the tree. Empty for root nodes
+     */
+    public List<String> getParents(String gav) {
+
+        Set<String> parentsOfArtifact = parents.get(gav);
+        return parentsOfArtifact == null ? Collections.emptyList() : new ArrayList<>(parentsOfArtifact);
+    }
+
+    /**
+     * This method returns all artifacts which are reachable from an artifact in the tree
+     *
+     * @param gav groupId:artifactId:version
+     * @return ProjectDependency objects of the transitive dependencies in the order of their first occurrence in the tree. Artifacts without
+     * jar file are skipped
+     */
+    public List<ProjectDependency> getTransitiveDependencies(String gav) {
+
+        Integer id = ids.get(gav);
+        if (id == null) {
+            return Collections.emptyList();
+        }
+        BitSet transitiveDependencies = getTransitiveDependenciesById()[id];
+        List<ProjectDependency> result = new ArrayList<>(transitiveDependencies.cardinality());
+        for (int i = transitiveDependencies.nextSetBit(0); i >= 0; i = transitiveDependencies.nextSetBit(i + 1)) {
+            ProjectDependency projectDependency = projectDependenciesByGav.get(gavsById.get(i));
+            if (projectDependency != null && i != id) {
+                result.add(projectDependency);
+            }
+        }
+        return result;
+    }
+
+    private synchronized BitSet[] getTransitiveDependenciesById() {
+
+        if (transitiveDependenciesById == null) {
+            transitiveDependenciesById = computeTransitiveDependencies();
+        }
+        return transitiveDependenciesById;
+    }
+
+    /**
+     * This method computes the transitive dependencies of all artifacts. The artifacts are processed children first, so the bitset of an
+     * artifact is mostly the union of the bitsets of its children. Children whose bitset is not complete yet, which only happens for cycles,
+     * are expanded instead
+     */
+    private BitSet[] computeTransitiveDependencies() {
+
+        int numberOfArtifacts = gavsById.size();
+        BitSet[] transitiveDependencies = new BitSet[numberOfArtifacts];
+        int[][] children = new int[numberOfArtifacts][];
+        for (int id = 0; id < numberOfArtifacts; id++) {
+            children[id] = childrenById.get(id).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        for (int id : getIdsInPostOrder(children)) {
+            BitSet reachable = new BitSet(numberOfArtifacts);
+            Deque<Integer> unexpanded = new ArrayDeque<>();
+            for (int child : children[id]) {
+                if (!reachable.get(child)) {
+                    reachable.set(child);
+                    unexpanded.push(child);
+                }
+            }
+            while (!unexpanded.isEmpty()) {
+                int next = unexpanded.pop();
+                if (transitiveDependencies[next] != null) {
+                    reachable.or(transitiveDependencies[next]);
+                    continue;
+                }
+                for (int child : children[next]) {
+                    if (!reachable.get(child)) {
+                        reachable.set(child);
+                        unexpanded.push(child);
+                    }
+                }
+            }
+            transitiveDependencies[id] = reachable;
+        }
+        return transitiveDependencies;
+    }
+
+    /**
+     * This method orders the artifacts so that every artifact comes after its children, apart from cycles
+     */
+    private static int[] getIdsInPostOrder(int[][] children) {
+
+        int[] postOrder = new int[children.length];
+        int numberOfOrderedIds = 0;
+        boolean[] visited = new boolean[children.length];
+        //Stack of ids and the index of the next child to visit
+        int[] stackOfIds = new int[children.length];
+        int[] stackOfChildIndexes = new int[children.length];
+        for (int start = 0; start < children.length; start++) {
+            if (visited[start]) {
+                continue;
+            }
+            int stackSize = 0;
+            visited[start] = true;
+            stackOfIds[stackSize] = start;
+            stackOfChildIndexes[stackSize++] = 0;
+            while (stackSize > 0) {
+                int id = stackOfIds[stackSize - 1];
+                int childIndex = stackOfChildIndexes[stackSize - 1];
+                if (childIndex < children[id].length) {
+                    stackOfChildIndexes[stackSize - 1]++;
+                    int child = children[id][childIndex];
+                    if (!visited[child]) {
+                        visited[child] = true;
+                        stackOfIds[stackSize] = child;
+                        stackOfChildIndexes[stackSize++] = 0;
+                    }
+                } else {
+                    postOrder[numberOfOrderedIds++] = id;
+                    stackSize--;
+                }
+            }
+        }
+        return postOrder;
+    }
+}
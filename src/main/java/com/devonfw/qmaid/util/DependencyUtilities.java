@@ -4,12 +4,23 @@ import com.devonfw.qmaid.collector.AnalysisFailureCollector;
 import com.devonfw.qmaid.model.AnalysisFailureEntry;
 import com.devonfw.qmaid.model.ReflectionUsageInDependencies;
 import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * Utility class to operate on dependencies
@@ -29,21 +40,25 @@ public class DependencyUtilities {
             List<ReflectionUsageInDependencies> reflectionUsageInDependencies,
             List<Artifact> allArtifactsOfProject) {
 
+        //The first artifact of a jar file name wins, like a search through the list would find it
+        Map<String, Artifact> artifactsByJarFile = new HashMap<>();
+        for (Artifact artifact : allArtifactsOfProject) {
+            StringBuilder jarFile = new StringBuilder(artifact.getArtifactId());
+            jarFile.append("-");
+            jarFile.append(artifact.getVersion());
+            String classifier = artifact.getClassifier();
+            if (classifier != null && !classifier.equals("")) {
+                jarFile.append("-");
+                jarFile.append(classifier);
+            }
+            jarFile.append(".jar");
+            artifactsByJarFile.putIfAbsent(jarFile.toString(), artifact);
+        }
+
         List<ReflectionUsageInDependencies> result = new ArrayList<>();
 
         reflectionUsageInDependencies.forEach(reflectionUsageInDependency -> {
-            Optional<Artifact> optionalArtifact = allArtifactsOfProject.stream().filter(artifact -> {
-                StringBuilder jarFile = new StringBuilder(artifact.getArtifactId());
-                jarFile.append("-");
-                jarFile.append(artifact.getVersion());
-                String classifier = artifact.getClassifier();
-                if (classifier != null && !classifier.equals("")) {
-                    jarFile.append("-");
-                    jarFile.append(classifier);
-                }
-                jarFile.append(".jar");
-                return jarFile.toString().equals(reflectionUsageInDependency.getJarFile());
-            }).findAny();
+            Optional<Artifact> optionalArtifact = Optional.ofNullable(artifactsByJarFile.get(reflectionUsageInDependency.getJarFile()));
             if (optionalArtifact.isPresent()) {
                 Artifact artifact = optionalArtifact.get();
                 result.add(new ReflectionUsageInDependencies(
@@ -56,4 +71,82 @@ public class DependencyUtilities {
         });
         return result;
     }
+
+    /**
+     * This method derives groupId, artifactId and version of a jar file from its path in the local maven repository, e.g.
+     * org/slf4j/slf4j-api/1.7.30/slf4j-api-1.7.30.jar
+     *
+     * @param jarFile           Jar file
+     * @param mavenRepoLocation Location of the local maven repository
+     * @return The artifact or null if the jar file is not stored in the layout of the repository or has a classifier
+     */
+    public static Artifact identifyArtifactFromRepositoryLayout(File jarFile, File mavenRepoLocation) {
+
+        Path repositoryPath = mavenRepoLocation.toPath().toAbsolutePath().normalize();
+        Path jarPath = jarFile.toPath().toAbsolutePath().normalize();
+        if (!jarPath.startsWith(repositoryPath)) {
+            return null;
+        }
+        //At least one folder of the group, the artifact folder, the version folder and the jar file
+        Path pathInRepository = repositoryPath.relativize(jarPath);
+        int numberOfNames = pathInRepository.getNameCount();
+        if (numberOfNames < 4) {
+            return null;
+        }
+        String version = pathInRepository.getName(numberOfNames - 2).toString();
+        String artifactId = pathInRepository.getName(numberOfNames - 3).toString();
+        if (!pathInRepository.getName(numberOfNames - 1).toString().equals(artifactId + "-" + version + ".jar")) {
+            return null;
+        }
+        StringBuilder groupId = new StringBuilder(pathInRepository.getName(0).toString());
+        for (int i = 1; i < numberOfNames - 3; i++) {
+            groupId.append('.');
+            groupId.append(pathInRepository.getName(i));
+        }
+        return new DefaultArtifact(groupId + ":" + artifactId + ":" + version);
+    }
+
+    /**
+     * This method reads groupId, artifactId and version of a jar file from the pom.properties which Maven stores in META-INF/maven. Only a
+     * pom.properties whose artifactId and version match the file name is used, since shaded jars also contain the pom.properties of the
+     * embedded dependencies
+     *
+     * @param jarFile Jar file
+     * @return The artifact or null if the jar file contains no matching pom.properties
+     */
+    public static Artifact identifyArtifactFromPomProperties(File jarFile) {
+
+        List<Properties> pomPropertiesOfJar = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(jarFile)) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String name = entry.getName();
+                //META-INF/maven/<groupId>/<artifactId>/pom.properties
+                if (name.startsWith("META-INF/maven/") && name.endsWith("/pom.properties") && name.split("/").length == 5) {
+                    Properties pomProperties = new Properties();
+                    try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                        pomProperties.load(inputStream);
+                    }
+                    if (pomProperties.getProperty("groupId") != null && pomProperties.getProperty("artifactId") != null &&
+                            pomProperties.getProperty("version") != null) {
+                        pomPropertiesOfJar.add(pomProperties);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.debug("Could not read pom.properties of " + jarFile, e);
+            return null;
+        }
+
+        //Shaded jars may contain only the pom.properties of an embedded dependency, so a single pom.properties has to match as well
+        pomPropertiesOfJar.removeIf(pomProperties -> !jarFile.getName().equals(
+                pomProperties.getProperty("artifactId") + "-" + pomProperties.getProperty("version") + ".jar"));
+        if (pomPropertiesOfJar.size() != 1) {
+            return null;
+        }
+        Properties pomProperties = pomPropertiesOfJar.get(0);
+        return new DefaultArtifact(pomProperties.getProperty("groupId") + ":" + pomProperties.getProperty("artifactId") + ":" +
+                pomProperties.getProperty("version"));
+    }
 }
@@ -0,0 +1,226 @@
+package com.devonfw.qmaid.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent manifest of the import statements of the java files of a project. A file is only scanned again if its content has changed
+ * since the last analysis. Size and modification time are compared first, the content hash only if they differ, e.g. after a fresh
+ * checkout of the project
+ */
+public class ImportManifest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImportManifest.class);
+
+    private static final int MAGIC = 0x514d494d;
+    //Increased whenever the layout of the manifest file or the format of the import statements changes
+    private static final int FORMAT = 1;
+
+    private final File manifestLocation;
+    private final Path sourceRoot;
+    private final Map<String, Entry> entries;
+    private volatile boolean changed;
+
+    private ImportManifest(File manifestLocation, Path sourceRoot, Map<String, Entry> entries) {
+
+        this.manifestLocation = manifestLocation;
+        this.sourceRoot = sourceRoot;
+        this.entries = entries;
+    }
+
+    /**
+     * This method returns the default location of the manifest of a project in the home directory of the user. Every source folder has its
+     * own manifest
+     *
+     * @param sourceRoot Source folder of the project
+     * @return Manifest location
+     */
+    public static File getDefaultManifestLocation(File sourceRoot) {
+
+        return new File(System.getProperty("user.home") + File.separator + ".qmaid" + File.separator + "import-manifests" + File.separator +
+                ChecksumUtilities.sha256(sourceRoot.getAbsolutePath()) + ".bin");
+    }
+
+    /**
+     * This method reads the stored manifest. An empty manifest is returned if the file does not exist or is not readable
+     *
+     * @param manifestLocation Path to the stored manifest
+     * @param sourceRoot       Source folder of the project. The files are stored relative to it
+     * @return Manifest of the import statements
+     */
+    public static ImportManifest load(File manifestLocation, File sourceRoot) {
+
+        Path root = sourceRoot.toPath().toAbsolutePath().normalize();
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        if (!manifestLocation.exists()) {
+            return new ImportManifest(manifestLocation, root, entries);
+        }
+
+        try (DataInputStream manifestInput = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifestLocation.toPath())))) {
+            if (manifestInput.readInt() != MAGIC || manifestInput.readInt() != FORMAT) {
+                LOG.debug("Unknown format of import manifest " + manifestLocation + ". The manifest is rebuilt");
+                return new ImportManifest(manifestLocation, root, new ConcurrentHashMap<>());
+            }
+            int numberOfEntries = manifestInput.readInt();
+            for (int i = 0; i < numberOfEntries; i++) {
+                String path = manifestInput.readUTF();
+                long size = manifestInput.readLong();
+                long lastModified = manifestInput.readLong();
+                String hash = manifestInput.readUTF();
+                int numberOfImportStatements = manifestInput.readInt();
+                List<String> importStatements = new ArrayList<>(numberOfImportStatements);
+                for (int j = 0; j < numberOfImportStatements; j++) {
+                    importStatements.add(manifestInput.readUTF());
+                }
+                entries.put(path, new Entry(size, lastModified, hash, importStatements));
+            }
+            LOG.debug("Loaded import manifest with " + numberOfEntries + " files: " + manifestLocation);
+            return new ImportManifest(manifestLocation, root, entries);
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Could not load import manifest " + manifestLocation + ". The manifest is rebuilt", e);
+            return new ImportManifest(manifestLocation, root, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * This method returns the stored import statements of a java file if the file has not changed. Safe to call from several threads
+     *
+     * @param javaFile Java source code file
+     * @return Import statements of the file or null if the file is new or has changed
+     */
+    public List<String> getImportStatements(File javaFile) {
+
+        String path = getRelativePath(javaFile);
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            return null;
+        }
+        long size = javaFile.length();
+        long lastModified = javaFile.lastModified();
+        if (entry.size == size && entry.lastModified == lastModified) {
+            return entry.importStatements;
+        }
+
+        try {
+            if (entry.size == size && entry.hash.equals(ChecksumUtilities.sha256(javaFile))) {
+                //Same content with another modification time
+                entries.put(path, new Entry(size, lastModified, entry.hash, entry.importStatements));
+                changed = true;
+                return entry.importStatements;
+            }
+        } catch (IOException e) {
+            LOG.debug("Could not hash " + javaFile, e);
+        }
+        return null;
+    }
+
+    /**
+     * This method stores the import statements of a scanned java file. Safe to call from several threads
+     *
+     * @param javaFile         Java source code file
+     * @param importStatements Import statements of the file
+     */
+    public void put(File javaFile, List<String> importStatements) {
+
+        try {
+            long size = javaFile.length();
+            long lastModified = javaFile.lastModified();
+            entries.put(getRelativePath(javaFile), new Entry(size, lastModified, ChecksumUtilities.sha256(javaFile), importStatements));
+            changed = true;
+        } catch (IOException e) {
+            LOG.debug("Could not add " + javaFile + " to import manifest", e);
+        }
+    }
+
+    /**
+     * This method stores the manifest if files were added, changed or deleted. The files which are not part of the project anymore are
+     * dropped. The file is written to a temporary file first, so that parallel analyses never read an incomplete manifest
+     *
+     * @param javaFiles All java files of the project
+     */
+    public void save(Collection<File> javaFiles) {
+
+        Set<String> pathsOfJavaFiles = new HashSet<>();
+        for (File javaFile : javaFiles) {
+            pathsOfJavaFiles.add(getRelativePath(javaFile));
+        }
+        if (entries.keySet().retainAll(pathsOfJavaFiles)) {
+            changed = true;
+        }
+        if (!changed) {
+            return;
+        }
+
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(manifestLocation.getParentFile().toPath());
+            temporaryFile = Files.createTempFile(manifestLocation.getParentFile().toPath(), manifestLocation.getName(), ".tmp");
+            try (DataOutputStream manifestOutput = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                manifestOutput.writeInt(MAGIC);
+                manifestOutput.writeInt(FORMAT);
+                manifestOutput.writeInt(entries.size());
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    manifestOutput.writeUTF(entry.getKey());
+                    manifestOutput.writeLong(entry.getValue().size);
+                    manifestOutput.writeLong(entry.getValue().lastModified);
+                    manifestOutput.writeUTF(entry.getValue().hash);
+                    manifestOutput.writeInt(entry.getValue().importStatements.size());
+                    for (String importStatement : entry.getValue().importStatements) {
+                        manifestOutput.writeUTF(importStatement);
+                    }
+                }
+            }
+            Files.move(temporaryFile, manifestLocation.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            changed = false;
+            LOG.debug("Stored import manifest with " + entries.size() + " files: " + manifestLocation);
+        } catch (IOException e) {
+            LOG.debug("Could not store import manifest " + manifestLocation, e);
+            if (temporaryFile != null) {
+                temporaryFile.toFile().delete();
+            }
+        }
+    }
+
+    private String getRelativePath(File javaFile) {
+
+        Path path = javaFile.toPath().toAbsolutePath().normalize();
+        //Separators are unified, so the manifest does not depend on the operating system
+        return path.startsWith(sourceRoot) ? sourceRoot.relativize(path).toString().replace('\\', '/') : path.toString();
+    }
+
+    /**
+     * Stored state of a java file
+     */
+    private static class Entry {
+
+        private final long size;
+        private final long lastModified;
+        private final String hash;
+        private final List<String> importStatements;
+
+        private Entry(long size, long lastModified, String hash, List<String> importStatements) {
+
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.importStatements = importStatements;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.devonfw.qmaid.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scanner for the import statements of java source files. Only the header of a file is read: comments, string literals and annotations are
+ * skipped and the scan stops at the first type declaration, so the file is not parsed. The import statements are returned like QDox
+ * returns them, e.g. "java.util.List", "java.util.*" or "static org.junit.Assert.assertEquals"
+ */
+public class ImportScanner {
+
+    private static final int END_OF_FILE = -1;
+
+    private final Reader reader;
+    private int nextCharacter;
+    //Token which was read ahead and is returned by the next call of nextToken
+    private String pushedBackToken;
+
+    private ImportScanner(Reader reader) throws IOException {
+
+        this.reader = reader;
+        this.nextCharacter = reader.read();
+    }
+
+    /**
+     * This method reads the import statements of a java source file
+     *
+     * @param file Java source code file
+     * @return Import statements in the order of the file
+     * @throws IOException If the file is not readable
+     */
+    public static List<String> readImportStatements(File file) throws IOException {
+
+        try (Reader reader = new BufferedReader(new FileReader(file))) {
+            return readImportStatements(reader);
+        }
+    }
+
+    /**
+     * This method reads the import statements of java source code
+     *
+     * @param reader Java source code
+     * @return Import statements in the order of the source code
+     * @throws IOException If the source code is not readable
+     */
+    public static List<String> readImportStatements(Reader reader) throws IOException {
+
+        ImportScanner importScanner = new ImportScanner(reader);
+        List<String> importStatements = new ArrayList<>();
+        for (String token = importScanner.nextToken(); token != null; token = importScanner.nextToken()) {
+            if (token.equals(";")) {
+                continue;
+            }
+            if (token.equals("@")) {
+                //Annotation of the package declaration or of the first type declaration
+                importScanner.skipAnnotation();
+            } else if (token.equals("package")) {
+                importScanner.skipStatement();
+            } else if (token.equals("import")) {
+                String importStatement = importScanner.readImportStatement();
+                if (!importStatement.isEmpty()) {
+                    importStatements.add(importStatement);
+                }
+            } else {
+                //First type declaration or module declaration, no import statements can follow
+                break;
+            }
+        }
+        return importStatements;
+    }
+
+    private String readImportStatement() throws IOException {
+
+        StringBuilder importStatement = new StringBuilder();
+        String token = nextToken();
+        if ("static".equals(token)) {
+            importStatement.append("static ");
+            token = nextToken();
+        }
+        boolean nameExpected = true;
+        for (; token != null && !token.equals(";"); token = nextToken()) {
+            if (token.equals(".")) {
+                importStatement.append('.');
+                nameExpected = true;
+            } else if (nameExpected && (token.equals("*") || isIdentifier(token))) {
+                importStatement.append(token);
+                nameExpected = false;
+            } else if (isIdentifier(token)) {
+                //Missing semicolon, the token belongs to the next statement
+                pushedBackToken = token;
+                break;
+            } else {
+                //Characters which are not part of a name end the name, the rest of the statement is skipped
+                skipStatement();
+                break;
+            }
+        }
+        return importStatement.toString().equals("static ") ? "" : importStatement.toString();
+    }
+
+    private void skipStatement() throws IOException {
+
+        for (String token = nextToken(); token != null && !token.equals(";"); token = nextToken()) {
+            if (token.equals("@")) {
+                skipAnnotation();
+            }
+        }
+    }
+
+    private void skipAnnotation() throws IOException {
+
+        String token = nextToken();
+        while (token != null && (isIdentifier(token) || token.equals("."))) {
+            token = nextToken();
+        }
+        if (!"(".equals(token)) {
+            pushedBackToken = token;
+            return;
+        }
+        int depth = 1;
+        while (depth > 0 && (token = nextToken()) != null) {
+            if (token.equals("(")) {
+                depth++;
+            } else if (token.equals(")")) {
+                depth--;
+            }
+        }
+    }
+
+    private static boolean isIdentifier(String token) {
+        return Character.isJavaIdentifierStart(token.charAt(0));
+    }
+
+    /**
+     * This method reads the next token of the source code. Whitespace and comments are skipped
+     *
+     * @return An identifier, a literal or a single symbol character, null at the end of the file
+     */
+    private String nextToken() throws IOException {
+
+        if (pushedBackToken != null) {
+            String token = pushedBackToken;
+            pushedBackToken = null;
+            return token;
+        }
+
+        while (true) {
+            int character = read();
+            if (character == END_OF_FILE) {
+                return null;
+            }
+            if (Character.isWhitespace(character)) {
+                continue;
+            }
+            if (character == '/' && nextCharacter == '/') {
+                skipLineComment();
+                continue;
+            }
+            if (character == '/' && nextCharacter == '*') {
+                read();
+                skipBlockComment();
+                continue;
+            }
+            if (character == '"' || character == '\'') {
+                skipLiteral(character);
+                //Literals only occur in annotations of the header, so their content is not needed
+                return "\"\"";
+            }
+            if (Character.isJavaIdentifierStart(character)) {
+                StringBuilder identifier = new StringBuilder();
+                identifier.append((char) character);
+                while (nextCharacter != END_OF_FILE && Character.isJavaIdentifierPart(nextCharacter)) {
+                    identifier.append((char) read());
+                }
+                return identifier.toString();
+            }
+            return String.valueOf((char) character);
+        }
+    }
+
+    private void skipLineComment() throws IOException {
+
+        int character = read();
+        while (character != END_OF_FILE && character != '\n' && character != '\r') {
+            character = read();
+        }
+    }
+
+    private void skipBlockComment() throws IOException {
+
+        int character = read();
+        while (character != END_OF_FILE && !(character == '*' && nextCharacter == '/')) {
+            character = read();
+        }
+        read();
+    }
+
+    private void skipLiteral(int quote) throws IOException {
+
+        if (quote == '"' && nextCharacter == '"') {
+            read();
+            if (nextCharacter != '"') {
+                //Empty string
+                return;
+            }
+            read();
+            skipTextBlock();
+            return;
+        }
+        int character = read();
+        while (character != END_OF_FILE && character != quote && character != '\n') {
+            if (character == '\\') {
+                read();
+            }
+            character = read();
+        }
+    }
+
+    private void skipTextBlock() throws IOException {
+
+        int numberOfQuotes = 0;
+        while (numberOfQuotes < 3) {
+            int character = read();
+            if (character == END_OF_FILE) {
+                return;
+            }
+            if (character == '\\') {
+                read();
+                numberOfQuotes = 0;
+            } else {
+                numberOfQuotes = character == '"' ? numberOfQuotes + 1 : 0;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+
+        int character = nextCharacter;
+        if (character != END_OF_FILE) {
+            nextCharacter = reader.read();
+        }
+        return character;
+    }
+}
@@ -0,0 +1,319 @@
+package com.devonfw.qmaid.util;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent index of the classes and packages of jar files. The index is shared by all analyses which use the same local Maven repository.
+ * It is memory-mapped when loaded, so an indexed jar file is read from the index instead of being opened again. An entry is valid as long
+ * as path, size and modification time of the jar file are unchanged
+ */
+public class JarClassIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JarClassIndex.class);
+
+    private static final int MAGIC = 0x514d4a49;
+    //Increased whenever the layout of the index file changes
+    private static final int FORMAT = 1;
+
+    private final File indexLocation;
+    private final ByteBuffer mappedIndex;
+    private final Map<String, Integer> offsetsOfMappedEntries;
+    private final Map<String, byte[]> newEntries;
+
+    private JarClassIndex(File indexLocation, ByteBuffer mappedIndex, Map<String, Integer> offsetsOfMappedEntries) {
+
+        this.indexLocation = indexLocation;
+        this.mappedIndex = mappedIndex;
+        this.offsetsOfMappedEntries = offsetsOfMappedEntries;
+        this.newEntries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * This method returns the default location of the index in the home directory of the user
+     *
+     * @return Index location
+     */
+    public static File getDefaultIndexLocation() {
+
+        return new File(System.getProperty("user.home") + File.separator + ".qmaid" + File.separator + "jar-index.bin");
+    }
+
+    /**
+     * This method maps the stored index into memory. Only the paths of the entries are read, the classes and packages are decoded on access.
+     * An empty index is returned if the file does not exist or is not readable
+     *
+     * @param indexLocation Path to the stored index
+     * @return Index of the jar files
+     */
+    public static JarClassIndex load(File indexLocation) {
+
+        if (!indexLocation.exists()) {
+            return new JarClassIndex(indexLocation, null, new HashMap<>());
+        }
+
+        try (FileChannel fileChannel = FileChannel.open(indexLocation.toPath(), StandardOpenOption.READ)) {
+            //Windows does not allow to replace a mapped file, so the index is read into memory there
+            ByteBuffer mappedIndex = SystemUtils.IS_OS_WINDOWS ? ByteBuffer.wrap(Files.readAllBytes(indexLocation.toPath())) :
+                    fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+            if (mappedIndex.getInt() != MAGIC || mappedIndex.getInt() != FORMAT) {
+                LOG.debug("Unknown format of jar index " + indexLocation + ". The index is rebuilt");
+                return new JarClassIndex(indexLocation, null, new HashMap<>());
+            }
+
+            int numberOfEntries = mappedIndex.getInt();
+            //Every entry starts with its length, so a larger count can only come from a corrupt index
+            if (numberOfEntries < 0 || numberOfEntries > mappedIndex.remaining() / Integer.BYTES) {
+                LOG.debug("Invalid number of entries in jar index " + indexLocation + ". The index is rebuilt");
+                return new JarClassIndex(indexLocation, null, new HashMap<>());
+            }
+            Map<String, Integer> offsetsOfMappedEntries = new HashMap<>(numberOfEntries * 2);
+            for (int i = 0; i < numberOfEntries; i++) {
+                int offset = mappedIndex.position();
+                int length = mappedIndex.getInt();
+                offsetsOfMappedEntries.put(readString(mappedIndex), offset);
+                mappedIndex.position(offset + Integer.BYTES + length);
+            }
+            LOG.debug("Loaded jar index with " + numberOfEntries + " entries: " + indexLocation);
+            return new JarClassIndex(indexLocation, mappedIndex, offsetsOfMappedEntries);
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Could not load jar index " + indexLocation + ". The index is rebuilt", e);
+            return new JarClassIndex(indexLocation, null, new HashMap<>());
+        }
+    }
+
+    /**
+     * This method looks up the classes and packages of a jar file. Safe to call from several threads
+     *
+     * @param jarFile Path to the jar file
+     * @param groupId Group id of the artifact. Only classes whose name contains the group id are indexed
+     * @return The indexed jar file or null if it is not indexed yet or has changed since
+     */
+    public IndexedJar get(File jarFile, String groupId) {
+
+        String path = jarFile.getAbsolutePath();
+        byte[] newEntry = newEntries.get(path);
+        ByteBuffer entry;
+        if (newEntry != null) {
+            entry = ByteBuffer.wrap(newEntry);
+        } else if (offsetsOfMappedEntries.containsKey(path)) {
+            //Every lookup gets its own position on the shared mapping
+            entry = mappedIndex.duplicate();
+            entry.position(offsetsOfMappedEntries.get(path));
+        } else {
+            return null;
+        }
+
+        try {
+            entry.getInt();
+            readString(entry);
+            if (!readString(entry).equals(groupId) || entry.getLong() != jarFile.length() || entry.getLong() != jarFile.lastModified()) {
+                return null;
+            }
+            return new IndexedJar(readStrings(entry), readStrings(entry));
+        } catch (RuntimeException e) {
+            LOG.debug("Invalid entry in jar index " + indexLocation + " for " + path, e);
+            return null;
+        }
+    }
+
+    /**
+     * This method adds the classes and packages of a jar file to the index. Safe to call from several threads
+     *
+     * @param jarFile  Path to the jar file
+     * @param groupId  Group id of the artifact
+     * @param packages Packages of the jar file
+     * @param classes  Classes of the jar file
+     */
+    public void put(File jarFile, String groupId, List<String> packages, List<String> classes) {
+
+        try {
+            ByteArrayOutputStream entry = new ByteArrayOutputStream();
+            DataOutputStream entryOutput = new DataOutputStream(entry);
+            writeString(entryOutput, jarFile.getAbsolutePath());
+            writeString(entryOutput, groupId);
+            entryOutput.writeLong(jarFile.length());
+            entryOutput.writeLong(jarFile.lastModified());
+            writeStrings(entryOutput, packages);
+            writeStrings(entryOutput, classes);
+
+            ByteArrayOutputStream entryWithLength = new ByteArrayOutputStream(entry.size() + Integer.BYTES);
+            new DataOutputStream(entryWithLength).writeInt(entry.size());
+            entry.writeTo(entryWithLength);
+            newEntries.put(jarFile.getAbsolutePath(), entryWithLength.toByteArray());
+        } catch (IOException e) {
+            LOG.debug("Could not add " + jarFile + " to jar index", e);
+        }
+    }
+
+    /**
+     * This method stores the index if jar files were added. Parallel analyses store the index one after another: the index is locked and the
+     * entries are merged into the currently stored index, so entries added by other analyses in the meantime are kept. Entries which were
+     * replaced by new entries are dropped, as well as entries of jar files which were deleted or changed since they were indexed, so the
+     * index does not grow with outdated jar files. The file is written to a temporary file first, so that parallel analyses never read an
+     * incomplete index
+     */
+    public void save() {
+
+        if (newEntries.isEmpty()) {
+            return;
+        }
+
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(indexLocation.getParentFile().toPath());
+            Path lockFile = new File(indexLocation.getPath() + ".lock").toPath();
+            try (FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = lockChannel.lock();
+                try {
+                    //Entries of the stored index take precedence over the entries which were loaded at the start of this analysis
+                    Set<String> pathsOfWrittenEntries = new HashSet<>(newEntries.keySet());
+                    List<ByteBuffer> keptEntries = new ArrayList<>();
+                    addKeptEntries(load(indexLocation), pathsOfWrittenEntries, keptEntries);
+                    addKeptEntries(this, pathsOfWrittenEntries, keptEntries);
+
+                    temporaryFile = Files.createTempFile(indexLocation.getParentFile().toPath(), indexLocation.getName(), ".tmp");
+                    try (OutputStream outputStream = Files.newOutputStream(temporaryFile);
+                         DataOutputStream indexOutput = new DataOutputStream(new BufferedOutputStream(outputStream))) {
+                        indexOutput.writeInt(MAGIC);
+                        indexOutput.writeInt(FORMAT);
+                        indexOutput.writeInt(keptEntries.size() + newEntries.size());
+                        for (ByteBuffer entry : keptEntries) {
+                            byte[] bytes = new byte[entry.remaining()];
+                            entry.get(bytes);
+                            indexOutput.write(bytes);
+                        }
+                        for (byte[] entry : newEntries.values()) {
+                            indexOutput.write(entry);
+                        }
+                    }
+                    Files.move(temporaryFile, indexLocation.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    lock.release();
+                }
+            }
+            LOG.debug("Stored jar index with " + newEntries.size() + " new entries: " + indexLocation);
+        } catch (IOException e) {
+            LOG.debug("Could not store jar index " + indexLocation, e);
+            if (temporaryFile != null) {
+                temporaryFile.toFile().delete();
+            }
+        }
+    }
+
+    private static void addKeptEntries(JarClassIndex jarClassIndex, Set<String> pathsOfWrittenEntries, List<ByteBuffer> keptEntries) {
+
+        jarClassIndex.offsetsOfMappedEntries.forEach((path, offset) -> {
+            if (pathsOfWrittenEntries.contains(path)) {
+                return;
+            }
+            try {
+                ByteBuffer entry = jarClassIndex.mappedIndex.duplicate();
+                entry.position(offset);
+                entry.limit(offset + Integer.BYTES + entry.getInt(offset));
+                if (isUpToDate(entry.duplicate())) {
+                    pathsOfWrittenEntries.add(path);
+                    keptEntries.add(entry);
+                }
+            } catch (RuntimeException e) {
+                LOG.debug("Invalid entry in jar index " + jarClassIndex.indexLocation + " for " + path + ". The entry is dropped", e);
+            }
+        });
+    }
+
+    /**
+     * This method checks if the jar file of an entry still exists with the size and modification time it had when it was indexed
+     */
+    private static boolean isUpToDate(ByteBuffer entry) {
+
+        entry.getInt();
+        File jarFile = new File(readString(entry));
+        readString(entry);
+        return jarFile.isFile() && entry.getLong() == jarFile.length() && entry.getLong() == jarFile.lastModified();
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream output, List<String> values) throws IOException {
+
+        output.writeInt(values.size());
+        for (String value : values) {
+            writeString(output, value);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalStateException("Invalid string length " + length + " in jar index");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readStrings(ByteBuffer buffer) {
+
+        int size = buffer.getInt();
+        if (size < 0 || size > buffer.remaining() / Integer.BYTES) {
+            throw new IllegalStateException("Invalid number of strings " + size + " in jar index");
+        }
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(buffer));
+        }
+        return values;
+    }
+
+    /**
+     * Classes and packages of an indexed jar file
+     */
+    public static class IndexedJar {
+
+        private final List<String> packages;
+        private final List<String> classes;
+
+        private IndexedJar(List<String> packages, List<String> classes) {
+
+            this.packages = packages;
+            this.classes = classes;
+        }
+
+        public List<String> getPackages() {
+            return packages;
+        }
+
+        public List<String> getClasses() {
+            return classes;
+        }
+    }
+}
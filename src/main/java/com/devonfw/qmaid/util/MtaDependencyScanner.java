@@ -0,0 +1,266 @@
+package com.devonfw.qmaid.util;
+
+import com.devonfw.qmaid.collector.AnalysisFailureCollector;
+import com.devonfw.qmaid.model.AnalysisFailureEntry;
+import com.devonfw.qmaid.model.MtaRecord;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.aether.artifact.Artifact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Scans the project dependencies with MTA. The scans can be distributed to several workers, several dependencies can be analyzed by a
+ * single MTA execution and the results can be taken from a persistent cache
+ */
+public class MtaDependencyScanner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MtaDependencyScanner.class);
+
+    private final File resultFolderLocation;
+    private final Integer threads;
+    private final Integer batchSize;
+    private final List<String> targets;
+    private final MtaResultCache mtaResultCache;
+    private final Boolean warmWorkers;
+    private final List<MtaWorker> startedMtaWorkers;
+    private final ThreadLocal<MtaWorker> mtaWorkerOfThread;
+    private final ThreadLocal<Boolean> mtaWorkerStartFailed;
+
+    /**
+     * @param resultFolderLocation Path to the directory where the results will be saved
+     * @param threads              Number of parallel MTA executions
+     * @param batchSize            Number of libraries analyzed by one MTA execution
+     * @param targets              MTA targets, e.g. quarkus and reflection
+     * @param mtaResultCache       Cache for the results of the libraries or null if no cache should be used
+     * @param warmWorkers          Reuse one long-lived MTA process per worker instead of starting MTA for every batch
+     */
+    public MtaDependencyScanner(File resultFolderLocation, Integer threads, Integer batchSize, List<String> targets,
+                                MtaResultCache mtaResultCache, Boolean warmWorkers) {
+
+        this.resultFolderLocation = resultFolderLocation;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+        this.targets = targets;
+        this.mtaResultCache = mtaResultCache;
+        this.warmWorkers = warmWorkers;
+        this.startedMtaWorkers = Collections.synchronizedList(new ArrayList<>());
+        this.mtaWorkerOfThread = new ThreadLocal<>();
+        this.mtaWorkerStartFailed = ThreadLocal.withInitial(() -> false);
+    }
+
+    /**
+     * This method runs MTA for all given artifacts and passes the parsed CSV output of each artifact to the consumer. The consumer is always
+     * called in the order of the given artifacts, regardless of the order in which the workers finish and whether the result was cached
+     *
+     * @param artifacts         Artifacts with jar files to analyze
+     * @param mtaOutputConsumer Receives the output from CSV parser for each artifact
+     */
+    public void scanDependencies(List<Artifact> artifacts, Consumer<List<MtaRecord>> mtaOutputConsumer) {
+
+        List<File> libraryLocations = new ArrayList<>();
+        List<List<MtaRecord>> cachedMtaOutputs = new ArrayList<>();
+        List<File> uncachedLibraryLocations = new ArrayList<>();
+        for (Artifact artifact : artifacts) {
+            File libraryLocation = artifact.getFile();
+            List<MtaRecord> cachedMtaOutput = mtaResultCache == null ? null : mtaResultCache.get(libraryLocation);
+            libraryLocations.add(libraryLocation);
+            cachedMtaOutputs.add(cachedMtaOutput);
+            if (cachedMtaOutput == null) {
+                uncachedLibraryLocations.add(libraryLocation);
+            }
+        }
+        if (mtaResultCache != null) {
+            LOG.info((libraryLocations.size() - uncachedLibraryLocations.size()) + " of " + libraryLocations.size() +
+                    " dependencies found in the MTA result cache");
+        }
+
+        //The results of the scanned libraries arrive in the order of the uncached libraries. Cached results in between are passed on first
+        int[] nextLibrary = {0};
+        try {
+            scanLibraries(uncachedLibraryLocations, mtaOutput -> {
+                while (cachedMtaOutputs.get(nextLibrary[0]) != null) {
+                    mtaOutputConsumer.accept(cachedMtaOutputs.get(nextLibrary[0]));
+                    nextLibrary[0]++;
+                }
+                mtaOutputConsumer.accept(mtaOutput);
+                nextLibrary[0]++;
+            });
+        } finally {
+            startedMtaWorkers.forEach(MtaWorker::close);
+            startedMtaWorkers.clear();
+        }
+        for (; nextLibrary[0] < libraryLocations.size(); nextLibrary[0]++) {
+            if (cachedMtaOutputs.get(nextLibrary[0]) != null) {
+                mtaOutputConsumer.accept(cachedMtaOutputs.get(nextLibrary[0]));
+            }
+        }
+    }
+
+    /**
+     * This method runs MTA for the given libraries and passes the parsed CSV output of each library to the consumer in the order of the
+     * libraries. Libraries whose analysis failed are passed on with an empty output
+     *
+     * @param libraryLocations  Paths to the jar files which should be analyzed
+     * @param mtaOutputConsumer Receives the output from CSV parser for each library
+     */
+    private void scanLibraries(List<File> libraryLocations, Consumer<List<MtaRecord>> mtaOutputConsumer) {
+
+        List<List<File>> batches = createBatches(libraryLocations);
+
+        if (threads == 1) {
+            for (List<File> batch : batches) {
+                scanBatch(batch, resultFolderLocation).forEach(mtaOutputConsumer);
+            }
+            return;
+        }
+
+        LOG.info("Scanning dependencies with " + threads + " workers");
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<List<MtaRecord>>>> results = new ArrayList<>();
+            for (int i = 0; i < batches.size(); i++) {
+                List<File> batch = batches.get(i);
+                File workerFolderLocation = new File(resultFolderLocation, "dependency-" + i);
+                results.add(executorService.submit(() -> {
+                    boolean mkdir = workerFolderLocation.mkdirs();
+                    List<List<MtaRecord>> mtaOutput = scanBatch(batch, workerFolderLocation);
+                    FileUtils.deleteQuietly(workerFolderLocation);
+                    return mtaOutput;
+                }));
+            }
+
+            //Merging in the order of the artifacts keeps the results deterministic
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    results.get(i).get().forEach(mtaOutputConsumer);
+                } catch (ExecutionException e) {
+                    for (File libraryLocation : batches.get(i)) {
+                        AnalysisFailureCollector.addAnalysisFailure(
+                                new AnalysisFailureEntry(libraryLocation.toString(), "MTA reflection analysis failed."));
+                        mtaOutputConsumer.accept(new ArrayList<>());
+                    }
+                    LOG.debug("MTA reflection analysis failed.", e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("Scanning dependencies was interrupted.", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * This method groups the jar files into batches. A batch never contains two jar files with the same file name, because the findings are
+     * assigned to the libraries by the file name
+     *
+     * @param libraryLocations Paths to the jar files which should be analyzed
+     * @return Batches of jar files in the order of the given libraries
+     */
+    private List<List<File>> createBatches(List<File> libraryLocations) {
+
+        List<List<File>> batches = new ArrayList<>();
+        List<File> batch = new ArrayList<>();
+        Set<String> jarFileNamesOfBatch = new HashSet<>();
+
+        for (File libraryLocation : libraryLocations) {
+            if (batch.size() == batchSize || jarFileNamesOfBatch.contains(libraryLocation.getName())) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                jarFileNamesOfBatch.clear();
+            }
+            batch.add(libraryLocation);
+            jarFileNamesOfBatch.add(libraryLocation.getName());
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * This method analyzes a batch of libraries with a single MTA execution. The results of a successful execution are stored in the cache,
+     * unless findings could not be assigned to a library of the batch
+     *
+     * @param batch          Paths to the jar files which should be analyzed
+     * @param folderLocation Path to the directory which is exclusively used for this batch
+     * @return Output from CSV parser for each library of the batch
+     */
+    private List<List<MtaRecord>> scanBatch(List<File> batch, File folderLocation) {
+
+        boolean successful = warmWorkers ? executeMtaWorker(batch, folderLocation) :
+                MtaExecutor.executeMtaForLibraries(batch, folderLocation, targets);
+        List<MtaRecord> mtaOutput = new ArrayList<>();
+        CsvParser.parseCSV(folderLocation, mtaOutput::add);
+        List<MtaRecord> unassignedMtaOutput = new ArrayList<>();
+        Map<File, List<MtaRecord>> mtaOutputByLibrary = CsvParser.splitByJarFile(mtaOutput, batch, unassignedMtaOutput::add);
+        if (!unassignedMtaOutput.isEmpty()) {
+            AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(batch.toString(), unassignedMtaOutput.size() +
+                    " MTA findings could not be assigned to a dependency of the batch and were skipped."));
+            LOG.debug("MTA findings without dependency of the batch: " + unassignedMtaOutput.stream().map(MtaRecord::getJarFile).distinct()
+                    .collect(Collectors.toList()));
+        }
+
+        //Results with skipped findings are incomplete, so they are not stored in the cache
+        if (successful && unassignedMtaOutput.isEmpty() && mtaResultCache != null) {
+            mtaOutputByLibrary.forEach(mtaResultCache::put);
+        }
+        return new ArrayList<>(mtaOutputByLibrary.values());
+    }
+
+    /**
+     * This method analyzes a batch of libraries with the MTA worker of the current thread. The worker is started with the first batch of the
+     * thread. If the worker can not be started, MTA is started for every batch as usual
+     *
+     * @param batch          Paths to the jar files which should be analyzed
+     * @param folderLocation Path to the directory which is exclusively used for this batch
+     * @return True if MTA finished successfully
+     */
+    private boolean executeMtaWorker(List<File> batch, File folderLocation) {
+
+        MtaWorker mtaWorker = mtaWorkerOfThread.get();
+        if (mtaWorker != null && !mtaWorker.isAlive()) {
+            startedMtaWorkers.remove(mtaWorker);
+            mtaWorker.close();
+            mtaWorker = null;
+        }
+        if (mtaWorker == null && !mtaWorkerStartFailed.get()) {
+            try {
+                mtaWorker = MtaWorker.start();
+                startedMtaWorkers.add(mtaWorker);
+            } catch (IOException e) {
+                mtaWorkerStartFailed.set(true);
+                LOG.warn("Could not start MTA worker. MTA is started for every dependency instead", e);
+            }
+            mtaWorkerOfThread.set(mtaWorker);
+        }
+        if (mtaWorker == null) {
+            return MtaExecutor.executeMtaForLibraries(batch, folderLocation, targets);
+        }
+
+        LOG.info("Analyze reflection usage in project dependencies with MTA worker: " + batch);
+        boolean successful = mtaWorker.analyze(batch, folderLocation, targets);
+        if (!successful) {
+            for (File libraryLocation : batch) {
+                AnalysisFailureCollector.addAnalysisFailure(
+                        new AnalysisFailureEntry(libraryLocation.toString(), "MTA reflection analysis failed."));
+            }
+        }
+        return successful;
+    }
+}
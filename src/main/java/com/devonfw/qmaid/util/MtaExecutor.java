@@ -7,9 +7,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
-import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.Executors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 /**
@@ -28,52 +28,40 @@ public class MtaExecutor {
      */
     public static void executeMtaForProject(File inputProjectLocation, File resultFolderLocation) {
 
-        ProcessBuilder builder = new ProcessBuilder();
-        builder.redirectErrorStream(true);
-        builder.directory(new File(System.getProperty("user.dir")));
-
+        List<String> command = new ArrayList<>();
         if (SystemUtils.IS_OS_WINDOWS) {
-            builder.command("tools" + File.separator + "mta-cli-5.2.1" + File.separator + "bin" + File.separator + "mta-cli.bat",
-                    "--input", inputProjectLocation.toString(),
-                    "--output", resultFolderLocation.toString(),
-                    "--target", "quarkus",
-                    "--target", "reflection",
-                    "--target", "configuration",
-                    "--exportCSV",
-                    "--batchMode",
-                    "--skipReports",
-                    "--overwrite",
-                    "--sourceMode",
-                    "--userRulesDirectory", "tools" + File.separator + "custom-mta-rules");
+            command.add("tools" + File.separator + "mta-cli-5.2.1" + File.separator + "bin" + File.separator + "mta-cli.bat");
         } else {
-            builder.command("tools" + File.separator + "mta-cli-5.2.1" + File.separator + "bin" + File.separator + "mta-cli",
-                    "--input", inputProjectLocation.toString(),
-                    "--output", resultFolderLocation.toString(),
-                    "--target", "quarkus",
-                    "--target", "reflection",
-                    "--target", "configuration",
-                    "--exportCSV",
-                    "--batchMode",
-                    "--skipReports",
-                    "--overwrite",
-                    "--sourceMode",
-                    "--userRulesDirectory", "tools" + File.separator + "custom-mta-rules");
+            command.add("tools" + File.separator + "mta-cli-5.2.1" + File.separator + "bin" + File.separator + "mta-cli");
         }
+        command.addAll(List.of(
+                "--input", inputProjectLocation.toString(),
+                "--output", resultFolderLocation.toString(),
+                "--target", "quarkus",
+                "--target", "reflection",
+                "--target", "configuration",
+                "--exportCSV",
+                "--batchMode",
+                "--skipReports",
+                "--overwrite",
+                "--sourceMode",
+                "--userRulesDirectory", "tools" + File.separator + "custom-mta-rules"));
 
         try {
-            //Start script
+            //Start script and wait for the end of execution. The project analysis has no timeout, because its duration depends on the project size
             LOG.info("Analyzing project... This can take a while");
-            Process process = builder.start();
-
-            //Log script output
-            ScriptOutputStreamParser scriptOutputStreamParser = new ScriptOutputStreamParser(process.getInputStream(), LOG::debug);
-            Executors.newSingleThreadExecutor().submit(scriptOutputStreamParser);
-
-            //Waiting for successful end of execution
-            int exitCode = process.waitFor();
-            assert exitCode == 0;
-        } catch (IOException | InterruptedException e) {
+            int exitCode = MtaProcessSupervisor.run(command, 0);
+            if (exitCode != 0) {
+                AnalysisFailureCollector.addAnalysisFailure(
+                        new AnalysisFailureEntry(inputProjectLocation.toString(), "MTA analysis failed with exit code " + exitCode + "."));
+                LOG.error("MTA execution failed with exit code " + exitCode);
+            }
+        } catch (IOException | TimeoutException e) {
+            AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(inputProjectLocation.toString(), "MTA analysis failed."));
             LOG.error("MTA execution failed.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.error("MTA execution was interrupted.", e);
         }
     }
 
@@ -82,53 +70,80 @@ public class MtaExecutor {
      *
      * @param libraryLocation      Path to the jar file which should be analyzed
      * @param resultFolderLocation Path to the directory where the results will be saved
+     * @return True if MTA finished successfully
      */
-    public static void executeMtaForLibrary(File libraryLocation, File resultFolderLocation) {
+    public static boolean executeMtaForLibrary(File libraryLocation, File resultFolderLocation) {
 
-        ProcessBuilder builder = new ProcessBuilder();
-        builder.redirectErrorStream(true);
-        builder.directory(new File(System.getProperty("user.dir")));
+        return executeMtaForLibraries(List.of(libraryLocation), resultFolderLocation, List.of("quarkus", "reflection"));
+    }
+
+    /**
+     * This method runs the Red Hat Migration Toolkit for Applications (MTA) to find reflection calls and migration issues in several libraries
+     * with a single MTA execution. The findings of all libraries are written to the same CSV file
+     *
+     * @param libraryLocations     Paths to the jar files which should be analyzed
+     * @param resultFolderLocation Path to the directory where the results will be saved
+     * @param targets              MTA targets, e.g. quarkus and reflection
+     * @return True if MTA finished successfully
+     */
+    public static boolean executeMtaForLibraries(List<File> libraryLocations, File resultFolderLocation, List<String> targets) {
 
+        List<String> command = new ArrayList<>();
         if (SystemUtils.IS_OS_WINDOWS) {
-            builder.command("tools" + File.separator + "mta-cli-5.2.1" + File.separator + "bin" + File.separator + "mta-cli.bat",
-                    "--input", libraryLocation.toString(),
-                    "--output", resultFolderLocation.toString(),
-                    "--target", "quarkus",
-                    "--target", "reflection",
-                    "--exportCSV",
-                    "--batchMode",
-                    "--skipReports",
-                    "--overwrite",
-                    "--userRulesDirectory", "tools" + File.separator + "custom-mta-rules");
+            command.add("tools" + File.separator + "mta-cli-5.2.1" + File.separator + "bin" + File.separator + "mta-cli.bat");
         } else {
-            builder.command("tools" + File.separator + "mta-cli-5.2.1" + File.separator + "bin" + File.separator + "mta-cli",
-                    "--input", libraryLocation.toString(),
-                    "--output", resultFolderLocation.toString(),
-                    "--target", "quarkus",
-                    "--target", "reflection",
-                    "--exportCSV",
-                    "--batchMode",
-                    "--skipReports",
-                    "--overwrite",
-                    "--userRulesDirectory", "tools" + File.separator + "custom-mta-rules");
+            command.add("tools" + File.separator + "mta-cli-5.2.1" + File.separator + "bin" + File.separator + "mta-cli");
+        }
+        for (File libraryLocation : libraryLocations) {
+            command.add("--input");
+            command.add(libraryLocation.toString());
+        }
+        for (String target : targets) {
+            command.add("--target");
+            command.add(target);
         }
+        command.addAll(List.of(
+                "--output", resultFolderLocation.toString(),
+                "--exportCSV",
+                "--batchMode",
+                "--skipReports",
+                "--overwrite",
+                "--userRulesDirectory", "tools" + File.separator + "custom-mta-rules"));
 
         try {
             //Start script
-            LOG.info("Analyze reflection usage in project dependency: " + libraryLocation);
-            Process process = builder.start();
-
-            //Log script output
-            ScriptOutputStreamParser scriptOutputStreamParser = new ScriptOutputStreamParser(process.getInputStream(), LOG::debug);
-            Executors.newSingleThreadExecutor().submit(scriptOutputStreamParser);
-
-            //Waiting for successful end of execution
-            int exitCode = process.waitFor();
-            assert exitCode == 0;
-        } catch (IOException | InterruptedException e) {
-            AnalysisFailureCollector.addAnalysisFailure(
-                    new AnalysisFailureEntry(libraryLocation.toString(), "MTA reflection analysis failed."));
+            if (libraryLocations.size() == 1) {
+                LOG.info("Analyze reflection usage in project dependency: " + libraryLocations.get(0));
+            } else {
+                LOG.info("Analyze reflection usage in " + libraryLocations.size() + " project dependencies: " + libraryLocations);
+            }
+            long timeoutSeconds = MtaProcessSupervisor.getTimeoutSeconds(libraryLocations.size());
+            int exitCode = MtaProcessSupervisor.run(command, timeoutSeconds);
+            if (exitCode != 0) {
+                addAnalysisFailures(libraryLocations, "MTA reflection analysis failed with exit code " + exitCode + ".");
+                LOG.debug("MTA reflection analysis failed with exit code " + exitCode);
+            }
+            return exitCode == 0;
+        } catch (TimeoutException e) {
+            addAnalysisFailures(libraryLocations, "MTA reflection analysis timed out.");
+            LOG.debug("MTA reflection analysis timed out.", e);
+            return false;
+        } catch (IOException e) {
+            addAnalysisFailures(libraryLocations, "MTA reflection analysis failed.");
             LOG.debug("MTA reflection analysis failed.", e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            addAnalysisFailures(libraryLocations, "MTA reflection analysis was interrupted.");
+            LOG.debug("MTA reflection analysis was interrupted.", e);
+            return false;
+        }
+    }
+
+    private static void addAnalysisFailures(List<File> libraryLocations, String reason) {
+
+        for (File libraryLocation : libraryLocations) {
+            AnalysisFailureCollector.addAnalysisFailure(new AnalysisFailureEntry(libraryLocation.toString(), reason));
         }
     }
 
@@ -0,0 +1,164 @@
+package com.devonfw.qmaid.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Starts and supervises MTA processes. The output of all processes is drained by a shared thread pool, runs are killed after a timeout and
+ * the heap of the MTA JVM can be limited
+ */
+public class MtaProcessSupervisor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MtaProcessSupervisor.class);
+
+    private static final ExecutorService OUTPUT_DRAIN_POOL = Executors.newCachedThreadPool(createDaemonThreadFactory("mta-output-"));
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(createDaemonThreadFactory("mta-watchdog-"));
+
+    private static volatile long timeoutPerLibrarySeconds = 600;
+    private static volatile String maxMemory = "";
+    private static volatile int retries = 1;
+
+    /**
+     * This method configures the supervision of all following MTA executions
+     *
+     * @param timeoutPerLibrarySeconds Wall-clock timeout of the MTA analysis per library in seconds. 0 disables the timeout
+     * @param maxMemory                Maximum heap of the MTA JVM, e.g. 2048m. Empty for the default of MTA
+     * @param retries                  Number of retries of MTA executions which timed out
+     */
+    public static void configure(long timeoutPerLibrarySeconds, String maxMemory, int retries) {
+
+        MtaProcessSupervisor.timeoutPerLibrarySeconds = Math.max(0, timeoutPerLibrarySeconds);
+        MtaProcessSupervisor.maxMemory = maxMemory == null ? "" : maxMemory.trim();
+        MtaProcessSupervisor.retries = Math.max(0, retries);
+    }
+
+    /**
+     * This method calculates the timeout of an MTA execution
+     *
+     * @param numberOfLibraries Number of libraries which are analyzed by the execution
+     * @return Timeout in seconds or 0 if no timeout is configured
+     */
+    public static long getTimeoutSeconds(int numberOfLibraries) {
+        return timeoutPerLibrarySeconds * Math.max(1, numberOfLibraries);
+    }
+
+    /**
+     * This method creates a process builder for the MTA cli. The process runs in the working directory of QMAid and gets the configured heap
+     * limit
+     *
+     * @param command Command with the MTA script and its arguments
+     * @return Process builder for the command
+     */
+    public static ProcessBuilder createProcessBuilder(List<String> command) {
+
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.redirectErrorStream(true);
+        builder.directory(new File(System.getProperty("user.dir")));
+        if (!maxMemory.isEmpty()) {
+            //Evaluated by the MTA scripts
+            builder.environment().put("MAX_MEMORY", maxMemory);
+        }
+        return builder;
+    }
+
+    /**
+     * This method starts a process and drains its output on the shared pool
+     *
+     * @param builder        Process builder of the process
+     * @param outputConsumer Receives each line of the output
+     * @return The started process
+     * @throws IOException If the process could not be started
+     */
+    public static Process start(ProcessBuilder builder, Consumer<String> outputConsumer) throws IOException {
+
+        Process process = builder.start();
+        OUTPUT_DRAIN_POOL.submit(new MtaExecutor.ScriptOutputStreamParser(process.getInputStream(), outputConsumer));
+        return process;
+    }
+
+    /**
+     * This method runs a command until it terminates. Runs which exceed the timeout are killed and retried as configured
+     *
+     * @param command        Command with the MTA script and its arguments
+     * @param timeoutSeconds Wall-clock timeout of each attempt in seconds. 0 disables the timeout
+     * @return Exit code of the process
+     * @throws IOException          If the process could not be started
+     * @throws TimeoutException     If all attempts exceeded the timeout
+     * @throws InterruptedException If the thread was interrupted while waiting. The process is killed in this case
+     */
+    public static int run(List<String> command, long timeoutSeconds) throws IOException, TimeoutException, InterruptedException {
+
+        for (int attempt = 0; ; attempt++) {
+            Process process = start(createProcessBuilder(command), LOG::debug);
+            try {
+                if (timeoutSeconds == 0) {
+                    return process.waitFor();
+                }
+                if (process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                    return process.exitValue();
+                }
+            } catch (InterruptedException e) {
+                destroy(process);
+                throw e;
+            }
+
+            destroy(process);
+            if (attempt >= retries) {
+                throw new TimeoutException("MTA did not finish within " + timeoutSeconds + " seconds");
+            }
+            LOG.warn("MTA did not finish within " + timeoutSeconds + " seconds. Retrying (" + (attempt + 1) + "/" + retries + ")");
+        }
+    }
+
+    /**
+     * This method kills a process after the timeout unless the returned future is cancelled before
+     *
+     * @param process        Process to supervise
+     * @param timeoutSeconds Timeout in seconds. 0 disables the timeout
+     * @return Future of the kill or null if no timeout is configured. Cancel it when the supervised work is finished
+     */
+    public static ScheduledFuture<?> destroyAfterTimeout(Process process, long timeoutSeconds) {
+
+        if (timeoutSeconds == 0) {
+            return null;
+        }
+        return WATCHDOG.schedule(() -> {
+            LOG.warn("MTA did not finish within " + timeoutSeconds + " seconds. The process is killed");
+            destroy(process);
+        }, timeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * This method kills a process and all processes started by it. The MTA scripts start the JVM as a child process on some platforms
+     *
+     * @param process Process to kill
+     */
+    public static void destroy(Process process) {
+
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    private static ThreadFactory createDaemonThreadFactory(String namePrefix) {
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package com.devonfw.qmaid.util;
+
+import com.devonfw.qmaid.model.MtaRecord;
+import com.opencsv.CSVReader;
+import com.opencsv.ICSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent cache for the MTA results of libraries. The results are addressed by the content of the jar file and the used rule set, so
+ * they stay valid across analyses and projects
+ */
+public class MtaResultCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MtaResultCache.class);
+
+    //Increased whenever the layout of the cache files changes
+    private static final String CACHE_FORMAT = "v3";
+
+    private final File cacheFolderLocation;
+    private final Map<File, String> checksumsOfLibraries;
+
+    /**
+     * @param cacheLocation Root directory of the cache
+     * @param targets       MTA targets of the cached results. Results of other targets are stored separately
+     */
+    public MtaResultCache(File cacheLocation, List<String> targets) {
+
+        checksumsOfLibraries = new ConcurrentHashMap<>();
+        String ruleSetChecksum = calculateRuleSetChecksum();
+        cacheFolderLocation = ruleSetChecksum == null ? null :
+                new File(cacheLocation, CACHE_FORMAT + File.separator + ruleSetChecksum + File.separator + String.join("-", targets));
+    }
+
+    /**
+     * This method returns the default location of the cache in the home directory of the user
+     *
+     * @return Cache location
+     */
+    public static File getDefaultCacheLocation() {
+
+        return new File(System.getProperty("user.home") + File.separator + ".qmaid" + File.separator + "mta-cache");
+    }
+
+    /**
+     * This method returns the cached output from CSV parser for a library
+     *
+     * @param libraryLocation Path to the jar file
+     * @return Cached output from CSV parser or null if the library was not analyzed yet
+     */
+    public List<MtaRecord> get(File libraryLocation) {
+
+        File cacheFile = getCacheFile(libraryLocation);
+        if (cacheFile == null || !cacheFile.exists()) {
+            return null;
+        }
+
+        List<MtaRecord> records = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(cacheFile.toPath()); CSVReader csvReader = CsvParser.createReader(reader)) {
+            String[] values;
+            while ((values = csvReader.readNext()) != null) {
+                if (values.length != 6) {
+                    throw new CsvValidationException("Unexpected number of columns: " + values.length);
+                }
+                //The same jar file can be stored under another name
+                String jarFile = values[5].endsWith(".jar") ? libraryLocation.getName() : values[5];
+                records.add(new MtaRecord(values[0], values[1], values[2], values[3], values[4], jarFile));
+            }
+        } catch (IOException | CsvValidationException e) {
+            LOG.debug("Could not read cached MTA result of " + libraryLocation, e);
+            return null;
+        }
+        LOG.debug("Using cached MTA result for project dependency: " + libraryLocation);
+        return records;
+    }
+
+    /**
+     * This method stores the output from CSV parser for a library. The file is written to a temporary file first, so that parallel analyses
+     * never read incomplete cache entries
+     *
+     * @param libraryLocation Path to the jar file
+     * @param mtaRecords      Output from CSV parser
+     */
+    public void put(File libraryLocation, List<MtaRecord> mtaRecords) {
+
+        File cacheFile = getCacheFile(libraryLocation);
+        if (cacheFile == null) {
+            return;
+        }
+
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(cacheFolderLocation.toPath());
+            temporaryFile = Files.createTempFile(cacheFolderLocation.toPath(), cacheFile.getName(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporaryFile); ICSVWriter csvWriter = CsvParser.createWriter(writer)) {
+                for (MtaRecord mtaRecord : mtaRecords) {
+                    csvWriter.writeNext(new String[]{mtaRecord.getRuleId(), mtaRecord.getCategory(), mtaRecord.getTitle(),
+                            mtaRecord.getClassName(), mtaRecord.getPath(), mtaRecord.getJarFile()});
+                }
+                //The CSV writer does not throw write errors, it only remembers them
+                if (csvWriter.checkError()) {
+                    throw new IOException("Could not write " + temporaryFile);
+                }
+            }
+            Files.move(temporaryFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.debug("Could not cache MTA result of " + libraryLocation, e);
+            if (temporaryFile != null) {
+                temporaryFile.toFile().delete();
+            }
+        }
+    }
+
+    private File getCacheFile(File libraryLocation) {
+
+        if (cacheFolderLocation == null) {
+            return null;
+        }
+
+        String checksum = checksumsOfLibraries.computeIfAbsent(libraryLocation, location -> {
+            try {
+                return ChecksumUtilities.sha256(location);
+            } catch (IOException e) {
+                LOG.debug("Could not calculate checksum of " + location, e);
+                return null;
+            }
+        });
+        if (checksum == null) {
+            return null;
+        }
+        return new File(cacheFolderLocation, checksum + ".csv");
+    }
+
+    /**
+     * This method calculates the checksum of the MTA rules which are used for the analysis of libraries. Changed rules lead to a new cache
+     * folder, so that results of outdated rules are never used
+     *
+     * @return Checksum of the rule set or null if the rules are not readable
+     */
+    private String calculateRuleSetChecksum() {
+
+        File locationOfBuiltInMtaRules = new File(System.getProperty("user.dir") +
+                File.separator + "tools" + File.separator + "mta-cli-5.2.1" + File.separator + "rules" + File.separator + "migration-core" + File.separator + "quarkus");
+        File locationOfCustomMtaRules = new File(System.getProperty("user.dir") + File.separator + "tools" + File.separator + "custom-mta-rules");
+        try {
+            return ChecksumUtilities.sha256OfDirectories(List.of(locationOfBuiltInMtaRules, locationOfCustomMtaRules));
+        } catch (IOException e) {
+            LOG.warn("Could not calculate checksum of the MTA rules. MTA results of libraries are not cached", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.devonfw.qmaid.util;
+
+import com.devonfw.qmaid.model.MtaIssue;
+import com.opencsv.CSVReader;
+import com.opencsv.ICSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Index of the MTA rules from rule id to the blacklisted artifacts and referenced classes. The rules are parsed once and the index is stored
+ * next to the rules, so it is only rebuilt if the rule files change
+ */
+public class MtaRuleIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MtaRuleIndex.class);
+
+    private static final String CHECKSUM = "#checksum";
+    //Increased whenever the layout of the stored index changes
+    private static final String INDEX_FORMAT = "v2";
+    private static final String ARTIFACT = "artifact";
+    private static final String JAVACLASS = "javaclass";
+
+    private static final ThreadLocal<SAXParser> SAX_PARSER = ThreadLocal.withInitial(() -> {
+        try {
+            return SAXParserFactory.newDefaultInstance().newSAXParser();
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("Could not create SAX parser", e);
+        }
+    });
+
+    private final Map<String, IndexedRule> rulesById;
+
+    private MtaRuleIndex(Map<String, IndexedRule> rulesById) {
+
+        this.rulesById = rulesById;
+    }
+
+    /**
+     * This method loads the index of the built-in quarkus rules and the custom rules. The index is stored in the tools directory
+     *
+     * @return Index of the MTA rules
+     */
+    public static MtaRuleIndex load() {
+
+        File locationOfBuiltInMtaRules = new File(System.getProperty("user.dir") +
+                File.separator + "tools" + File.separator + "mta-cli-5.2.1" + File.separator + "rules" + File.separator + "migration-core" + File.separator + "quarkus");
+        File locationOfCustomMtaRules = new File(System.getProperty("user.dir") + File.separator + "tools" + File.separator + "custom-mta-rules");
+        File indexLocation = new File(System.getProperty("user.dir") + File.separator + "tools" + File.separator + "mta-rule-index.csv");
+
+        return load(List.of(locationOfBuiltInMtaRules, locationOfCustomMtaRules), indexLocation);
+    }
+
+    /**
+     * This method loads the stored index if it matches the checksum of the rules. Otherwise the rules are parsed and the index is stored again
+     *
+     * @param ruleLocations Locations of the MTA rules. Rules with the same id are merged in the order of the locations
+     * @param indexLocation Path to the stored index
+     * @return Index of the MTA rules
+     */
+    public static MtaRuleIndex load(List<File> ruleLocations, File indexLocation) {
+
+        String checksum = null;
+        try {
+            checksum = ChecksumUtilities.sha256OfDirectories(ruleLocations);
+        } catch (IOException e) {
+            LOG.debug("Could not calculate checksum of the MTA rules", e);
+        }
+
+        if (checksum != null) {
+            MtaRuleIndex storedIndex = read(indexLocation, checksum);
+            if (storedIndex != null) {
+                LOG.debug("Using stored MTA rule index: " + indexLocation);
+                return storedIndex;
+            }
+        }
+
+        LOG.info("Building MTA rule index");
+        MtaRuleIndex mtaRuleIndex = build(ruleLocations);
+        if (checksum != null) {
+            mtaRuleIndex.write(indexLocation, checksum);
+        }
+        return mtaRuleIndex;
+    }
+
+    /**
+     * This method parses all rule files in parallel and merges them in the order of the rule locations
+     *
+     * @param ruleLocations Locations of the MTA rules
+     * @return Index of the MTA rules
+     */
+    static MtaRuleIndex build(List<File> ruleLocations) {
+
+        List<File> ruleFiles = new ArrayList<>();
+        for (File ruleLocation : ruleLocations) {
+            File[] directories = ruleLocation.listFiles(File::isDirectory);
+            if (directories == null) {
+                LOG.warn("MTA rules not found: " + ruleLocation);
+                continue;
+            }
+            Arrays.sort(directories, Comparator.comparing(File::getName));
+            for (File directory : directories) {
+                File[] rules = directory.listFiles(rule -> rule.isFile() && rule.getName().endsWith(".xml"));
+                if (rules != null) {
+                    Arrays.sort(rules, Comparator.comparing(File::getName));
+                    ruleFiles.addAll(Arrays.asList(rules));
+                }
+            }
+        }
+
+        List<Map<String, IndexedRule>> parsedRuleFiles = ruleFiles.parallelStream()
+                .map(MtaRuleIndex::parseRuleFile)
+                .collect(Collectors.toList());
+
+        Map<String, IndexedRule> rulesById = new LinkedHashMap<>();
+        for (Map<String, IndexedRule> parsedRuleFile : parsedRuleFiles) {
+            parsedRuleFile.forEach((ruleId, indexedRule) -> rulesById.merge(ruleId, indexedRule, IndexedRule::addAll));
+        }
+        return new MtaRuleIndex(rulesById);
+    }
+
+    private static Map<String, IndexedRule> parseRuleFile(File ruleFile) {
+
+        RuleXmlHandler ruleXmlHandler = new RuleXmlHandler();
+        try {
+            SAXParser saxParser = SAX_PARSER.get();
+            saxParser.reset();
+            saxParser.parse(ruleFile, ruleXmlHandler);
+        } catch (IOException | SAXException e) {
+            LOG.debug("Could not parse MTA rule " + ruleFile, e);
+        }
+        return ruleXmlHandler.rulesById;
+    }
+
+    private static MtaRuleIndex read(File indexLocation, String checksum) {
+
+        if (!indexLocation.exists()) {
+            return null;
+        }
+
+        Map<String, IndexedRule> rulesById = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(indexLocation.toPath()); CSVReader csvReader = CsvParser.createReader(reader)) {
+            String[] values = csvReader.readNext();
+            if (values == null || values.length != 3 || !values[0].equals(CHECKSUM) || !values[1].equals(INDEX_FORMAT) || !values[2].equals(checksum)) {
+                return null;
+            }
+            while ((values = csvReader.readNext()) != null) {
+                if (values.length != 4) {
+                    LOG.debug("Invalid entry in MTA rule index " + indexLocation);
+                    return null;
+                }
+                IndexedRule indexedRule = rulesById.computeIfAbsent(values[0], ruleId -> new IndexedRule());
+                if (values[1].equals(ARTIFACT)) {
+                    indexedRule.mavenIdentifiers.add(new MtaIssue.MavenIdentifier(values[2], values[3]));
+                } else {
+                    indexedRule.javaClassReferences.add(values[2]);
+                }
+            }
+        } catch (IOException | CsvValidationException e) {
+            LOG.debug("Could not read MTA rule index " + indexLocation, e);
+            return null;
+        }
+        return new MtaRuleIndex(rulesById);
+    }
+
+    /**
+     * This method stores the index. The file is written to a temporary file first, so that parallel analyses never read an incomplete index
+     */
+    private void write(File indexLocation, String checksum) {
+
+        try {
+            Path temporaryFile = Files.createTempFile(indexLocation.getParentFile().toPath(), indexLocation.getName(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporaryFile); ICSVWriter csvWriter = CsvParser.createWriter(writer)) {
+                csvWriter.writeNext(new String[]{CHECKSUM, INDEX_FORMAT, checksum});
+                rulesById.forEach((ruleId, indexedRule) -> {
+                    for (MtaIssue.MavenIdentifier mavenIdentifier : indexedRule.mavenIdentifiers) {
+                        csvWriter.writeNext(new String[]{ruleId, ARTIFACT, mavenIdentifier.getGroupId(), mavenIdentifier.getArtifactId()});
+                    }
+                    for (String javaClassReference : indexedRule.javaClassReferences) {
+                        csvWriter.writeNext(new String[]{ruleId, JAVACLASS, javaClassReference, ""});
+                    }
+                });
+            }
+            Files.move(temporaryFile, indexLocation.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.debug("Could not store MTA rule index " + indexLocation, e);
+        }
+    }
+
+    /**
+     * This method looks up a rule
+     *
+     * @param ruleId Id of the MTA rule
+     * @return The indexed rule or null if the rule has no blacklisted artifacts and referenced classes
+     */
+    public IndexedRule getRule(String ruleId) {
+        return rulesById.get(ruleId);
+    }
+
+    /**
+     * Blacklisted artifacts and referenced classes of a rule
+     */
+    public static class IndexedRule {
+
+        private final List<MtaIssue.MavenIdentifier> mavenIdentifiers = new ArrayList<>();
+        private final List<String> javaClassReferences = new ArrayList<>();
+
+        private IndexedRule addAll(IndexedRule indexedRule) {
+
+            mavenIdentifiers.addAll(indexedRule.mavenIdentifiers);
+            javaClassReferences.addAll(indexedRule.javaClassReferences);
+            return this;
+        }
+
+        public List<MtaIssue.MavenIdentifier> getMavenIdentifiers() {
+            return mavenIdentifiers;
+        }
+
+        public List<String> getJavaClassReferences() {
+            return javaClassReferences;
+        }
+    }
+
+    /**
+     * Handler class to parse the MTA rules
+     */
+    private static class RuleXmlHandler extends DefaultHandler {
+
+        private final Map<String, IndexedRule> rulesById = new LinkedHashMap<>();
+        private IndexedRule indexedRule;
+
+        @Override
+        public void startElement(String uri, String lName, String qName, Attributes attr) {
+
+            if (qName.equals("rule") && indexedRule == null && attr.getValue("id") != null) {
+                indexedRule = rulesById.computeIfAbsent(attr.getValue("id"), ruleId -> new IndexedRule());
+            } else if ((qName.equals("dependency") || qName.equals("artifact")) && indexedRule != null) {
+                indexedRule.mavenIdentifiers.add(new MtaIssue.MavenIdentifier(attr.getValue("groupId"), attr.getValue("artifactId")));
+            } else if (qName.equals("javaclass") && indexedRule != null) {
+                indexedRule.javaClassReferences.add(attr.getValue("references"));
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+
+            if (qName.equals("rule")) {
+                indexedRule = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.devonfw.qmaid.util;
+
+import org.apache.commons.lang3.SystemUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.rmi.NotBoundException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.UnmarshalException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.LogRecord;
+
+/**
+ * Long-lived MTA process which analyzes several jobs without being restarted. MTA is started in server mode and the jobs are sent to it
+ * with the RMI interface of the MTA tooling API. This saves the JVM startup, the addon loading and the rule compilation for every job
+ */
+public class MtaWorker implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MtaWorker.class);
+
+    private static final String EXECUTION_BUILDER = "org.jboss.windup.tooling.ExecutionBuilder";
+    private static final String PROGRESS_MONITOR = "org.jboss.windup.tooling.WindupToolingProgressMonitor";
+    private static final long STARTUP_TIMEOUT_SECONDS = 300;
+
+    private final Process process;
+    private final URLClassLoader toolingClassLoader;
+    private Class<?> executionBuilderClass;
+    private Class<?> progressMonitorClass;
+    private Object executionBuilder;
+    private Remote progressMonitor;
+    private final AtomicBoolean serverStartFailed;
+
+    private MtaWorker(Process process, URLClassLoader toolingClassLoader, AtomicBoolean serverStartFailed) {
+
+        this.process = process;
+        this.toolingClassLoader = toolingClassLoader;
+        this.serverStartFailed = serverStartFailed;
+    }
+
+    /**
+     * This method starts MTA in server mode and connects to it. It blocks until MTA accepts jobs
+     *
+     * @return The started worker
+     * @throws IOException If MTA could not be started or the connection failed
+     */
+    public static MtaWorker start() throws IOException {
+
+        int port;
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            port = serverSocket.getLocalPort();
+        }
+
+        List<String> command = new ArrayList<>();
+        if (SystemUtils.IS_OS_WINDOWS) {
+            command.add("tools" + File.separator + "mta-cli-5.2.1" + File.separator + "bin" + File.separator + "mta-cli.bat");
+        } else {
+            command.add("tools" + File.separator + "mta-cli-5.2.1" + File.separator + "bin" + File.separator + "mta-cli");
+        }
+        command.addAll(List.of("--startServer", String.valueOf(port)));
+
+        LOG.info("Starting MTA worker on port " + port);
+        URLClassLoader toolingClassLoader = new URLClassLoader(getToolingApiJars(), MtaWorker.class.getClassLoader());
+        AtomicBoolean serverStartFailed = new AtomicBoolean();
+        //MTA stays alive if the server could not be started, so the failure is detected by the output
+        Process process;
+        try {
+            process = MtaProcessSupervisor.start(MtaProcessSupervisor.createProcessBuilder(command), line -> {
+                if (line.startsWith("MTA execution failed") || line.startsWith("Failed to start MTA")) {
+                    serverStartFailed.set(true);
+                }
+                LOG.debug(line);
+            });
+        } catch (IOException e) {
+            toolingClassLoader.close();
+            throw e;
+        }
+        MtaWorker mtaWorker = new MtaWorker(process, toolingClassLoader, serverStartFailed);
+
+        try {
+            mtaWorker.connect(port);
+        } catch (IOException e) {
+            mtaWorker.close();
+            throw e;
+        }
+        return mtaWorker;
+    }
+
+    /**
+     * This method connects to the RMI registry of the MTA server and exports the progress monitor which receives the log messages of MTA
+     *
+     * @param port Port of the RMI registry
+     * @throws IOException If the MTA server is not reachable within the startup timeout
+     */
+    private void connect(int port) throws IOException {
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(toolingClassLoader);
+        try {
+            executionBuilderClass = toolingClassLoader.loadClass(EXECUTION_BUILDER);
+            progressMonitorClass = toolingClassLoader.loadClass(PROGRESS_MONITOR);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(STARTUP_TIMEOUT_SECONDS);
+            while (executionBuilder == null) {
+                if (!process.isAlive()) {
+                    throw new IOException("MTA server terminated with exit code " + process.exitValue());
+                }
+                if (serverStartFailed.get()) {
+                    throw new IOException("MTA server could not be started. See debug log for details");
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IOException("MTA server did not start within " + STARTUP_TIMEOUT_SECONDS + " seconds");
+                }
+                try {
+                    executionBuilder = LocateRegistry.getRegistry("localhost", port).lookup("ExecutionBuilder");
+                } catch (RemoteException | NotBoundException e) {
+                    Thread.sleep(1000);
+                }
+            }
+
+            InvocationHandler progressMonitorHandler = (proxy, method, args) -> {
+                if (method.getDeclaringClass().equals(Object.class)) {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            return "MTA worker progress monitor";
+                    }
+                }
+                if (method.getName().equals("logMessage") && args[0] instanceof LogRecord) {
+                    LOG.debug(((LogRecord) args[0]).getMessage());
+                }
+                return method.getReturnType().equals(boolean.class) ? false : null;
+            };
+            progressMonitor = (Remote) Proxy.newProxyInstance(toolingClassLoader, new Class<?>[]{progressMonitorClass}, progressMonitorHandler);
+            UnicastRemoteObject.exportObject(progressMonitor, 0);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("MTA tooling API not found", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for MTA server", e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    /**
+     * This method lets the running MTA server analyze libraries. The options correspond to the options of
+     * {@link MtaExecutor#executeMtaForLibraries(List, File, List)}
+     *
+     * @param libraryLocations     Paths to the jar files which should be analyzed
+     * @param resultFolderLocation Path to the directory where the results will be saved
+     * @param targets              MTA targets, e.g. quarkus and reflection
+     * @return True if MTA finished successfully
+     */
+    public boolean analyze(List<File> libraryLocations, File resultFolderLocation, List<String> targets) {
+
+        Set<String> input = new LinkedHashSet<>();
+        libraryLocations.forEach(libraryLocation -> input.add(libraryLocation.getAbsolutePath()));
+        File mtaHome = new File(System.getProperty("user.dir") + File.separator + "tools" + File.separator + "mta-cli-5.2.1");
+        File customMtaRules = new File(System.getProperty("user.dir") + File.separator + "tools" + File.separator + "custom-mta-rules");
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(toolingClassLoader);
+        try {
+            invoke("clear", new Class<?>[]{});
+            invoke("setWindupHome", new Class<?>[]{String.class}, mtaHome.getAbsolutePath());
+            invoke("setProgressMonitor", new Class<?>[]{progressMonitorClass}, progressMonitor);
+            invoke("setInput", new Class<?>[]{Set.class}, input);
+            invoke("setOutput", new Class<?>[]{String.class}, resultFolderLocation.getAbsolutePath());
+            invoke("setOption", new Class<?>[]{String.class, Object.class}, "target", new ArrayList<>(targets));
+            invoke("setOption", new Class<?>[]{String.class, Object.class}, "exportCSV", true);
+            invoke("setOption", new Class<?>[]{String.class, Object.class}, "overwrite", true);
+            invoke("skipReportGeneration", new Class<?>[]{});
+            invoke("addUserRulesPath", new Class<?>[]{String.class}, customMtaRules.getAbsolutePath());
+            //A stuck analysis kills the worker, which lets the execution fail. The worker is restarted for the next batch
+            ScheduledFuture<?> timeout = MtaProcessSupervisor.destroyAfterTimeout(process,
+                    MtaProcessSupervisor.getTimeoutSeconds(libraryLocations.size()));
+            try {
+                invoke("execute", new Class<?>[]{});
+            } catch (UnmarshalException e) {
+                //The findings are read from the exported CSV file, so the returned execution results are not needed
+                LOG.debug("Could not read execution results of MTA worker", e);
+            } finally {
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+            }
+            return process.isAlive();
+        } catch (RemoteException e) {
+            LOG.debug("MTA worker analysis failed.", e);
+            return false;
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    /**
+     * @return True if the MTA server process is still running
+     */
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    private void invoke(String methodName, Class<?>[] parameterTypes, Object... args) throws RemoteException {
+
+        try {
+            Method method = executionBuilderClass.getMethod(methodName, parameterTypes);
+            method.invoke(executionBuilder, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RemoteException) {
+                throw (RemoteException) e.getCause();
+            }
+            throw new RemoteException("MTA worker call " + methodName + " failed", e.getCause());
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new RemoteException("MTA tooling API does not support " + methodName, e);
+        }
+    }
+
+    private static URL[] getToolingApiJars() throws IOException {
+
+        File toolingAddon = new File(System.getProperty("user.dir") + File.separator + "tools" + File.separator + "mta-cli-5.2.1" +
+                File.separator + "addons" + File.separator + "org-jboss-windup-windup-tooling-5-2-1-Final");
+        File[] jars = toolingAddon.listFiles((directory, name) -> name.endsWith(".jar"));
+        if (jars == null || jars.length == 0) {
+            throw new IOException("MTA tooling API not found in " + toolingAddon);
+        }
+        URL[] urls = new URL[jars.length];
+        for (int i = 0; i < jars.length; i++) {
+            urls[i] = jars[i].toURI().toURL();
+        }
+        return urls;
+    }
+
+    /**
+     * This method stops the MTA server
+     */
+    @Override
+    public void close() {
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(toolingClassLoader);
+        try {
+            if (executionBuilder != null) {
+                invoke("terminate", new Class<?>[]{});
+            }
+        } catch (RemoteException e) {
+            LOG.debug("MTA worker did not terminate on request", e);
+        } finally {
+            Thread.currentThread().setContextClassLoader(contextClassLoader);
+        }
+
+        try {
+            if (progressMonitor != null) {
+                UnicastRemoteObject.unexportObject(progressMonitor, true);
+            }
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                MtaProcessSupervisor.destroy(process);
+            }
+            toolingClassLoader.close();
+        } catch (IOException e) {
+            LOG.debug("Could not close MTA tooling class loader", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            MtaProcessSupervisor.destroy(process);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.devonfw.qmaid.util;
+
+import com.devonfw.qmaid.model.ProjectDependency;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Index from class and package names to the dependencies which contain them. The names are stored in a trie over their dotted segments, so
+ * a lookup costs about the length of the name instead of a scan over all dependencies. The owners of a name are kept in the order of the
+ * indexed dependencies
+ */
+public class SymbolIndex {
+
+    private final Node root = new Node();
+    private final Map<ProjectDependency, Integer> positionsOfDependencies = new IdentityHashMap<>();
+
+    /**
+     * This method indexes the packages and classes which are contained in the jar files of the dependencies
+     *
+     * @param projectDependencies Dependencies to index
+     * @return Index of the packages and classes
+     */
+    public static SymbolIndex ofPackagesAndClasses(List<ProjectDependency> projectDependencies) {
+
+        return new SymbolIndex(projectDependencies, ProjectDependency::getPackages, ProjectDependency::getClasses);
+    }
+
+    /**
+     * This method indexes the packages and classes of the dependencies including the packages and classes of their transitive dependencies
+     *
+     * @param projectDependencies Dependencies to index
+     * @return Index of the packages and classes
+     */
+    public static SymbolIndex ofPackagesAndClassesIncludingDependencies(List<ProjectDependency> projectDependencies) {
+
+        return new SymbolIndex(projectDependencies, ProjectDependency::getAllPossiblePackagesIncludingDependencies,
+                ProjectDependency::getAllPossibleClassesIncludingDependencies);
+    }
+
+    private SymbolIndex(List<ProjectDependency> projectDependencies, Function<ProjectDependency, List<String>> packagesOfDependency,
+                        Function<ProjectDependency, List<String>> classesOfDependency) {
+
+        for (ProjectDependency projectDependency : projectDependencies) {
+            positionsOfDependencies.putIfAbsent(projectDependency, positionsOfDependencies.size());
+            for (String javaPackage : packagesOfDependency.apply(projectDependency)) {
+                Node node = findOrCreateNode(javaPackage);
+                node.packageOwners = addOwner(node.packageOwners, projectDependency);
+            }
+            for (String javaClass : classesOfDependency.apply(projectDependency)) {
+                Node node = findOrCreateNode(javaClass);
+                node.classOwners = addOwner(node.classOwners, projectDependency);
+            }
+        }
+    }
+
+    /**
+     * @param javaPackage Fully qualified name of the package
+     * @return Dependencies which contain the package in the order of the indexed dependencies
+     */
+    public List<ProjectDependency> getOwnersOfPackage(String javaPackage) {
+
+        Node node = findNode(javaPackage);
+        return node == null ? Collections.emptyList() : node.packageOwners;
+    }
+
+    /**
+     * @param javaClass Fully qualified name of the class
+     * @return Dependencies which contain the class in the order of the indexed dependencies
+     */
+    public List<ProjectDependency> getOwnersOfClass(String javaClass) {
+
+        Node node = findNode(javaClass);
+        return node == null ? Collections.emptyList() : node.classOwners;
+    }
+
+    /**
+     * This method finds the first indexed dependency which contains a class or a package with the given name
+     *
+     * @param name Fully qualified name of a class or a package
+     * @return The first dependency or null if no dependency contains the name
+     */
+    public ProjectDependency getFirstOwnerOfClassOrPackage(String name) {
+
+        Node node = findNode(name);
+        if (node == null) {
+            return null;
+        }
+        ProjectDependency firstClassOwner = node.classOwners.isEmpty() ? null : node.classOwners.get(0);
+        ProjectDependency firstPackageOwner = node.packageOwners.isEmpty() ? null : node.packageOwners.get(0);
+        if (firstClassOwner == null || firstPackageOwner == null) {
+            return firstClassOwner == null ? firstPackageOwner : firstClassOwner;
+        }
+        return positionsOfDependencies.get(firstClassOwner) <= positionsOfDependencies.get(firstPackageOwner) ? firstClassOwner : firstPackageOwner;
+    }
+
+    private Node findNode(String name) {
+
+        Node node = root;
+        int start = 0;
+        while (node != null && start <= name.length()) {
+            int end = name.indexOf('.', start);
+            if (end == -1) {
+                end = name.length();
+            }
+            node = node.children.get(name.substring(start, end));
+            start = end + 1;
+        }
+        return node;
+    }
+
+    private Node findOrCreateNode(String name) {
+
+        Node node = root;
+        int start = 0;
+        while (start <= name.length()) {
+            int end = name.indexOf('.', start);
+            if (end == -1) {
+                end = name.length();
+            }
+            if (node.children.isEmpty()) {
+                node.children = new HashMap<>(4);
+            }
+            node = node.children.computeIfAbsent(name.substring(start, end), segment -> new Node());
+            start = end + 1;
+        }
+        return node;
+    }
+
+    private static List<ProjectDependency> addOwner(List<ProjectDependency> owners, ProjectDependency projectDependency) {
+
+        //The dependencies are indexed one after another, so a repeated name of the same dependency is always the last owner
+        if (!owners.isEmpty() && owners.get(owners.size() - 1) == projectDependency) {
+            return owners;
+        }
+        List<ProjectDependency> enhancedOwners = owners.isEmpty() ? new ArrayList<>(1) : owners;
+        enhancedOwners.add(projectDependency);
+        return enhancedOwners;
+    }
+
+    /**
+     * Segment of a dotted name
+     */
+    private static class Node {
+
+        private Map<String, Node> children = Collections.emptyMap();
+        private List<ProjectDependency> packageOwners = Collections.emptyList();
+        private List<ProjectDependency> classOwners = Collections.emptyList();
+    }
+}